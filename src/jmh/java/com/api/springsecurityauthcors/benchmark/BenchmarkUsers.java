@@ -0,0 +1,32 @@
+package com.api.springsecurityauthcors.benchmark;
+
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkUsers {
+    private BenchmarkUsers() {
+    }
+
+    static UserEntity user(long id) {
+        return UserEntity.builder()
+                .id(id)
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .patronymic("Patronymic" + id)
+                .email("user" + id + "@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3ZJ4jK6.fq0v5r1ZsZ3yM4W")
+                .role(Role.USER)
+                .build();
+    }
+
+    static List<UserEntity> users(int count) {
+        List<UserEntity> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+}
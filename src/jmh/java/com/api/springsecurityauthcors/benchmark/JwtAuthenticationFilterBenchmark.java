@@ -0,0 +1,71 @@
+package com.api.springsecurityauthcors.benchmark;
+
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import com.api.springsecurityauthcors.security.JWTAuthenticationFilter;
+import com.api.springsecurityauthcors.security.JwtKeyRing;
+import com.api.springsecurityauthcors.security.JwtService;
+import com.api.springsecurityauthcors.security.JwtSigningProperties;
+import com.api.springsecurityauthcors.security.PublicRoutes;
+import com.api.springsecurityauthcors.security.RevocationSet;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JWTAuthenticationFilter} with an in-memory user lookup
+ * and a no-op filter chain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private JWTAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(10000, AuthMetrics.noop(), JwtKeyRing.from(new JwtSigningProperties()));
+        UserEntity user = BenchmarkUsers.user(1);
+        UserDetailsService userDetailsService = username -> user;
+        filter = new JWTAuthenticationFilter(jwtService, userDetailsService, AuthMetrics.noop(), new RevocationSet(10000),
+                new PublicRoutes(new String[]{"/api/auth/**"}));
+        authorizationHeader = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/current");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return response;
+    }
+}
@@ -0,0 +1,72 @@
+package com.api.springsecurityauthcors.benchmark;
+
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import com.api.springsecurityauthcors.security.JwtKeyRing;
+import com.api.springsecurityauthcors.security.JwtService;
+import com.api.springsecurityauthcors.security.JwtSigningProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token minting and verification. {@code claimsCacheSize = 0} measures a full parse and HMAC check per call.
+ * {@code generateTokenWithJjwtBuilder} mints the same claims through the jjwt builder, the path
+ * {@code generateToken} took before the HS256 minter; compare the two with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+    @Param({"0", "10000"})
+    private int claimsCacheSize;
+
+    private JwtService jwtService;
+    private UserEntity user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(claimsCacheSize, AuthMetrics.noop(), JwtKeyRing.from(new JwtSigningProperties()));
+        user = BenchmarkUsers.user(1);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateTokenWithJjwtBuilder() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtService.ROLE_CLAIM, user.getRole().name());
+        claims.put(JwtService.USER_ID_CLAIM, user.getId());
+        return jwtService.generateToken(claims, user.getEmail());
+    }
+
+    @Benchmark
+    public String extractUserName() {
+        return jwtService.extractUserName(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+}
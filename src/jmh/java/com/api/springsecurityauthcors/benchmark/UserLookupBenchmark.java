@@ -0,0 +1,111 @@
+package com.api.springsecurityauthcors.benchmark;
+
+import com.api.springsecurityauthcors.SpringSecurityAuthCorsApplication;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.repo.user.UserRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * findByEmail as the user table grows: a JPQL query that always reaches the database against the
+ * natural-id lookup served from the second-level cache. Runs the application on the in-memory H2
+ * of the test profile, so the query variant is a lower bound of a networked PostgreSQL round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+    private static final int HOT_USERS = 1024;
+    private static final int INSERT_BATCH = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserRepo userRepo;
+    private EntityManager entityManager;
+    private String[] hotEmails;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringSecurityAuthCorsApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false");
+        userRepo = context.getBean(UserRepo.class);
+        entityManager = context.getBean(EntityManager.class);
+        insertUsers(context.getBean(JdbcTemplate.class));
+
+        SplittableRandom random = new SplittableRandom(42);
+        hotEmails = new String[HOT_USERS];
+        for (int i = 0; i < HOT_USERS; i++) {
+            hotEmails[i] = BenchmarkUsers.user(random.nextInt(users)).getEmail();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearSecondLevelCache() {
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserEntity query() {
+        return entityManager.createQuery("select u from UserEntity u where u.email = :email", UserEntity.class)
+                .setParameter("email", nextEmail())
+                .getSingleResult();
+    }
+
+    @Benchmark
+    public UserEntity naturalId() {
+        return userRepo.findByEmail(nextEmail()).orElseThrow();
+    }
+
+    private String nextEmail() {
+        return hotEmails[next++ & (HOT_USERS - 1)];
+    }
+
+    private void insertUsers(JdbcTemplate jdbcTemplate) {
+        String sql = "insert into jwt_users (first_name, last_name, patronymic, email, password, role) values (?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < users; i++) {
+            UserEntity user = BenchmarkUsers.user(i);
+            batch.add(new Object[]{user.getFirstName(), user.getLastName(), user.getPatronymic(),
+                    user.getEmail(), user.getPassword(), user.getRole().name()});
+            if (batch.size() == INSERT_BATCH || i == users - 1) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.api.springsecurityauthcors.benchmark;
+
+import com.api.springsecurityauthcors.domain.DTO.user.UserResponseDTO;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.mapper.user.UserResponseMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserResponseMapperBenchmark {
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private UserResponseMapper mapper;
+    private List<UserEntity> users;
+
+    @Setup
+    public void setUp() {
+        mapper = Mappers.getMapper(UserResponseMapper.class);
+        users = BenchmarkUsers.users(size);
+    }
+
+    @Benchmark
+    public List<UserResponseDTO> toDto() {
+        return mapper.toDto(users);
+    }
+}
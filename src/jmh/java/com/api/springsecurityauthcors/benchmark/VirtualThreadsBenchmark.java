@@ -0,0 +1,147 @@
+package com.api.springsecurityauthcors.benchmark;
+
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import com.api.springsecurityauthcors.security.JWTAuthenticationFilter;
+import com.api.springsecurityauthcors.security.JwtKeyRing;
+import com.api.springsecurityauthcors.security.JwtService;
+import com.api.springsecurityauthcors.security.JwtSigningProperties;
+import com.api.springsecurityauthcors.security.PublicRoutes;
+import com.api.springsecurityauthcors.security.RevocationSet;
+import com.api.springsecurityauthcors.service.auth.PasswordHashingExecutor;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login and GET /api/users/current under {@value #CONCURRENCY} concurrent requests, served by a
+ * Tomcat-sized platform pool or by one virtual thread per request. Database calls are simulated
+ * with a fixed latency behind a connection-pool sized semaphore; BCrypt runs on the real
+ * {@link PasswordHashingExecutor}. The virtual variant needs JDK 21.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+    private static final int CONCURRENCY = 1000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final String PASSWORD = "correct horse battery staple";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"5"})
+    private int dbLatencyMillis;
+
+    /**
+     * 400 is above the platform thread count, so only the virtual variant can keep every connection busy.
+     */
+    @Param({"20", "400"})
+    private int connectionPoolSize;
+
+    private ExecutorService requestExecutor;
+    private PasswordHashingExecutor passwordExecutor;
+    private Semaphore connections;
+    private BCryptPasswordEncoder encoder;
+    private JwtService jwtService;
+    private JWTAuthenticationFilter filter;
+    private UserEntity user;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() throws Exception {
+        requestExecutor = "virtual".equals(threads)
+                ? (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        passwordExecutor = new PasswordHashingExecutor(0, CONCURRENCY);
+        connections = new Semaphore(connectionPoolSize, true);
+        encoder = new BCryptPasswordEncoder(4);
+        jwtService = new JwtService(10000, AuthMetrics.noop(), JwtKeyRing.from(new JwtSigningProperties()));
+        user = BenchmarkUsers.user(1);
+        user.setPassword(encoder.encode(PASSWORD));
+        filter = new JWTAuthenticationFilter(jwtService, username -> user, AuthMetrics.noop(),
+                new RevocationSet(10000), new PublicRoutes(new String[]{"/api/auth/**"}));
+        authorizationHeader = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        passwordExecutor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public void login() throws Exception {
+        runConcurrently(() -> {
+            query();
+            boolean matches = passwordExecutor.submit(() -> encoder.matches(PASSWORD, user.getPassword())).join();
+            String token = jwtService.generateToken(user);
+            query();
+            return matches ? token : null;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public void currentUser() throws Exception {
+        runConcurrently(() -> {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/current");
+            request.addHeader("Authorization", authorizationHeader);
+            try {
+                filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+                query();
+                return SecurityContextHolder.getContext().getAuthentication();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        });
+    }
+
+    private void runConcurrently(Callable<Object> request) throws Exception {
+        List<Callable<Object>> requests = new ArrayList<>(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            requests.add(request);
+        }
+        for (var response : requestExecutor.invokeAll(requests)) {
+            response.get();
+        }
+    }
+
+    private void query() throws InterruptedException {
+        connections.acquire();
+        try {
+            Thread.sleep(dbLatencyMillis);
+        } finally {
+            connections.release();
+        }
+    }
+}
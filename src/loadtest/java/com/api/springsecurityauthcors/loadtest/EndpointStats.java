@@ -0,0 +1,65 @@
+package com.api.springsecurityauthcors.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and status counts of one operation, recorded from all virtual users.
+ * Status 0 stands for a request that failed without a response (timeout, connection error).
+ */
+final class EndpointStats {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Recorder latencyMicros = new Recorder(MAX_LATENCY_MICROS, 3);
+    private final ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    void record(long latencyNanos, int status) {
+        latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        statuses.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+    }
+
+    /**
+     * Drops everything recorded so far, e.g. at the end of the warmup.
+     */
+    void reset() {
+        latencyMicros.getIntervalHistogram();
+        statuses.clear();
+    }
+
+    LoadReport.EndpointResult result(Operation operation, double seconds) {
+        Histogram histogram = latencyMicros.getIntervalHistogram();
+        Map<String, Long> counts = new TreeMap<>();
+        long errors = 0;
+        for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+            long count = entry.getValue().sum();
+            counts.put(String.valueOf(entry.getKey()), count);
+            if (entry.getKey() < 200 || entry.getKey() >= 300) {
+                errors += count;
+            }
+        }
+        long requests = histogram.getTotalCount();
+        return new LoadReport.EndpointResult(
+                operation.endpoint(),
+                requests,
+                errors,
+                requests == 0 ? 0 : (double) errors / requests,
+                requests / seconds,
+                new LoadReport.Latency(
+                        millis(histogram.getValueAtPercentile(50)),
+                        millis(histogram.getValueAtPercentile(99)),
+                        millis(histogram.getValueAtPercentile(99.9)),
+                        millis(histogram.getMaxValue()),
+                        histogram.getMean() / 1000),
+                counts);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,88 @@
+package com.api.springsecurityauthcors.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Machine-readable result of a run, written as JSON and compared with a stored baseline.
+ * Latencies are in milliseconds, throughput in requests per second of the measured phase.
+ */
+record LoadReport(String startedAt,
+                  Settings settings,
+                  Map<String, EndpointResult> endpoints) {
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    /**
+     * Error rates may grow by this much in absolute terms before a run counts as a regression.
+     */
+    private static final double ERROR_RATE_SLACK = 0.01;
+
+    record Settings(int concurrency, double rate, String warmup, String duration, String mix,
+                    List<String> applicationArgs) {
+    }
+
+    record EndpointResult(String endpoint, long requests, long errors, double errorRate, double throughput,
+                          Latency latencyMillis, Map<String, Long> statuses) {
+    }
+
+    record Latency(double p50, double p99, double p999, double max, double mean) {
+    }
+
+    void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        JSON.writeValue(file.toFile(), this);
+    }
+
+    static LoadReport read(Path file) throws IOException {
+        return JSON.readValue(file.toFile(), LoadReport.class);
+    }
+
+    /**
+     * Regressions of this run against {@code baseline}: p99 latency or throughput worse by more
+     * than {@code tolerance} (a fraction), or an error rate above the baseline one.
+     * Operations missing from either report are not compared.
+     */
+    List<String> regressionsAgainst(LoadReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        endpoints.forEach((operation, current) -> {
+            EndpointResult previous = baseline.endpoints().get(operation);
+            if (previous == null || previous.requests() == 0) {
+                return;
+            }
+            if (current.latencyMillis().p99() > previous.latencyMillis().p99() * (1 + tolerance)) {
+                regressions.add(String.format("%s p99 %.2f ms > baseline %.2f ms",
+                        operation, current.latencyMillis().p99(), previous.latencyMillis().p99()));
+            }
+            if (current.throughput() < previous.throughput() * (1 - tolerance)) {
+                regressions.add(String.format("%s throughput %.1f/s < baseline %.1f/s",
+                        operation, current.throughput(), previous.throughput()));
+            }
+            if (current.errorRate() > previous.errorRate() + ERROR_RATE_SLACK) {
+                regressions.add(String.format("%s error rate %.2f%% > baseline %.2f%%",
+                        operation, current.errorRate() * 100, previous.errorRate() * 100));
+            }
+        });
+        return regressions;
+    }
+
+    String summary() {
+        StringBuilder summary = new StringBuilder(String.format("%-10s %9s %8s %10s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms"));
+        endpoints.forEach((operation, result) -> summary.append(String.format("%-10s %9d %8d %10.1f %9.2f %9.2f %9.2f%n",
+                operation, result.requests(), result.errors(), result.throughput(),
+                result.latencyMillis().p50(), result.latencyMillis().p99(), result.latencyMillis().p999())));
+        return summary.toString();
+    }
+}
@@ -0,0 +1,223 @@
+package com.api.springsecurityauthcors.loadtest;
+
+import com.api.springsecurityauthcors.SpringSecurityAuthCorsApplication;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.api.springsecurityauthcors.repo.user.UserRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Drives a mix of auth and user requests against the application started on an embedded
+ * PostgreSQL (Flyway creates the schema) and reports per-operation latency percentiles,
+ * throughput and error rates as JSON.
+ * <p>
+ * Without {@code --rate} every virtual user sends its next request as soon as the previous one
+ * completes (closed model). With {@code --rate} requests are scheduled at a fixed total rate and
+ * latency is measured from the scheduled start, so a stalled server is not hidden by clients that
+ * stop sending (coordinated omission).
+ * <p>
+ * Login throttling is switched off since every virtual user shares the loopback address.
+ * The driver runs in the same JVM as the application, so compare runs made on the same machine.
+ */
+public final class LoadTest {
+    private static final String ADMIN_EMAIL = "loadtest-admin@example.com";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int exitCode;
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringSecurityAuthCorsApplication.class)
+                     .run(applicationArgs(postgres, options))) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LoadReport report = run(options, URI.create("http://localhost:" + port), seedAdmin(context));
+            exitCode = publish(report, options);
+        }
+        System.exit(exitCode);
+    }
+
+    private static String[] applicationArgs(EmbeddedPostgres postgres, LoadTestOptions options) {
+        Map<String, String> args = new LinkedHashMap<>();
+        args.put("--spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        args.put("--server.port", "0");
+        args.put("--auth.login-throttle.enabled", "false");
+        args.put("--logging.level.root", "WARN");
+        for (String arg : options.applicationArgs()) {
+            int separator = arg.indexOf('=');
+            args.put(separator < 0 ? arg : arg.substring(0, separator), separator < 0 ? null : arg.substring(separator + 1));
+        }
+        return args.entrySet().stream()
+                .map(arg -> arg.getValue() == null ? arg.getKey() : arg.getKey() + "=" + arg.getValue())
+                .toArray(String[]::new);
+    }
+
+    private static UserEntity seedAdmin(ConfigurableApplicationContext context) {
+        return context.getBean(UserRepo.class).save(UserEntity.builder()
+                .firstName("Load")
+                .lastName("Admin")
+                .email(ADMIN_EMAIL)
+                .password(context.getBean(PasswordEncoder.class).encode(VirtualUser.PASSWORD))
+                .role(Role.ADMIN)
+                .build());
+    }
+
+    private static LoadReport run(LoadTestOptions options, URI baseUri, UserEntity admin) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        VirtualUser adminUser = new VirtualUser(client, objectMapper, baseUri, admin.getEmail(), null);
+        if (adminUser.login() != 200) {
+            throw new IllegalStateException("Admin login failed");
+        }
+
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        options.mix().keySet().forEach(operation -> stats.put(operation, new EndpointStats()));
+        Operation[] schedule = schedule(options.mix());
+
+        String startedAt = Instant.now().toString();
+        long start = System.nanoTime();
+        long measureStart = start + options.warmup().toNanos();
+        long end = measureStart + options.duration().toNanos();
+        long interval = options.rate() > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * options.concurrency() / options.rate()) : 0;
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < options.concurrency(); i++) {
+            VirtualUser user = new VirtualUser(client, objectMapper, baseUri,
+                    "loadtest-" + i + "@example.com", adminUser.accessToken());
+            long firstStart = start + interval * i / options.concurrency();
+            running.add(workers.submit(() -> {
+                drive(user, schedule, stats, firstStart, interval, end);
+                return null;
+            }));
+        }
+        LockSupport.parkNanos(measureStart - System.nanoTime());
+        stats.values().forEach(EndpointStats::reset);
+        for (Future<?> worker : running) {
+            worker.get();
+        }
+        workers.shutdown();
+
+        double seconds = options.duration().toNanos() / 1e9;
+        Map<String, LoadReport.EndpointResult> endpoints = new LinkedHashMap<>();
+        stats.forEach((operation, endpointStats) -> endpoints.put(operation.key(), endpointStats.result(operation, seconds)));
+        return new LoadReport(startedAt,
+                new LoadReport.Settings(options.concurrency(), options.rate(), options.warmup().toString(),
+                        options.duration().toString(), mixToString(options.mix()), options.applicationArgs()),
+                endpoints);
+    }
+
+    private static void drive(VirtualUser user,
+                              Operation[] schedule,
+                              Map<Operation, EndpointStats> stats,
+                              long firstStart,
+                              long interval,
+                              long end) throws InterruptedException {
+        try {
+            user.register(user.email());
+        } catch (IOException e) {
+            // logged in below
+        }
+        long intendedStart = firstStart;
+        while (System.nanoTime() < end) {
+            if (!user.hasTokens() && !loginQuietly(user)) {
+                TimeUnit.MILLISECONDS.sleep(100);
+                continue;
+            }
+            if (interval > 0) {
+                LockSupport.parkNanos(intendedStart - System.nanoTime());
+            }
+            Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            long requestStart = interval > 0 ? intendedStart : System.nanoTime();
+            int status;
+            try {
+                status = user.execute(operation);
+            } catch (IOException e) {
+                status = 0;
+            }
+            stats.get(operation).record(System.nanoTime() - requestStart, status);
+            intendedStart += interval;
+        }
+    }
+
+    private static boolean loginQuietly(VirtualUser user) throws InterruptedException {
+        try {
+            return user.login() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * One slot per unit of weight, so a uniform pick follows the mix.
+     */
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        return slots.toArray(Operation[]::new);
+    }
+
+    private static String mixToString(Map<Operation, Integer> mix) {
+        return mix.entrySet().stream()
+                .map(entry -> entry.getKey().key() + ":" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    private static int publish(LoadReport report, LoadTestOptions options) throws IOException {
+        report.write(options.report());
+        System.out.println();
+        System.out.print(report.summary());
+        System.out.println("Report: " + options.report().toAbsolutePath());
+        if (options.baseline() == null) {
+            return 0;
+        }
+        if (options.saveBaseline()) {
+            report.write(options.baseline());
+            System.out.println("Baseline saved: " + options.baseline().toAbsolutePath());
+            return 0;
+        }
+        if (!Files.exists(options.baseline())) {
+            System.out.println("No baseline at " + options.baseline().toAbsolutePath() + ", rerun with --save-baseline to store one.");
+            return 0;
+        }
+        List<String> regressions = report.regressionsAgainst(LoadReport.read(options.baseline()), options.tolerance());
+        if (regressions.isEmpty()) {
+            System.out.printf("No regressions against %s (tolerance %.0f%%)%n", options.baseline(), options.tolerance() * 100);
+            return 0;
+        }
+        System.out.println("Regressions against " + options.baseline() + ":");
+        regressions.forEach(regression -> System.out.println("  " + regression));
+        return 1;
+    }
+}
@@ -0,0 +1,85 @@
+package com.api.springsecurityauthcors.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of {@link LoadTest}: {@code --name=value} pairs. Options this class does not know
+ * are handed to the application under test, e.g. {@code --jwt.stateless=true}.
+ */
+record LoadTestOptions(int concurrency,
+                       double rate,
+                       Duration warmup,
+                       Duration duration,
+                       Map<Operation, Integer> mix,
+                       Path report,
+                       Path baseline,
+                       boolean saveBaseline,
+                       double tolerance,
+                       List<String> applicationArgs) {
+
+    static final String DEFAULT_MIX = "current:60,refresh:15,login:10,admin:10,register:5";
+
+    static LoadTestOptions parse(String[] args) {
+        int concurrency = 32;
+        double rate = 0;
+        Duration warmup = Duration.ofSeconds(15);
+        Duration duration = Duration.ofSeconds(60);
+        String mix = DEFAULT_MIX;
+        Path report = Path.of("target/loadtest-report.json");
+        Path baseline = null;
+        boolean saveBaseline = false;
+        double tolerance = 0.2;
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator < 0 ? arg : arg.substring(0, separator);
+            String value = separator < 0 ? "" : arg.substring(separator + 1);
+            switch (name) {
+                case "--concurrency" -> concurrency = Integer.parseInt(value);
+                case "--rate" -> rate = Double.parseDouble(value);
+                case "--warmup" -> warmup = Duration.parse(value);
+                case "--duration" -> duration = Duration.parse(value);
+                case "--mix" -> mix = value;
+                case "--report" -> report = Path.of(value);
+                case "--baseline" -> baseline = Path.of(value);
+                case "--save-baseline" -> saveBaseline = true;
+                case "--tolerance" -> tolerance = Double.parseDouble(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("--concurrency must be positive");
+        }
+        if (saveBaseline && baseline == null) {
+            throw new IllegalArgumentException("--save-baseline needs --baseline=<file>");
+        }
+        return new LoadTestOptions(concurrency, rate, warmup, duration, parseMix(mix), report, baseline,
+                saveBaseline, tolerance, List.copyOf(applicationArgs));
+    }
+
+    /**
+     * Weights such as {@code current:60,login:10}; operations that are not listed are not run.
+     */
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Bad --mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.byName(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,34 @@
+package com.api.springsecurityauthcors.loadtest;
+
+enum Operation {
+    REGISTER("register", "POST /api/auth/register"),
+    LOGIN("login", "POST /api/auth/login"),
+    REFRESH("refresh", "POST /api/auth/refreshtoken"),
+    CURRENT("current", "GET /api/users/current"),
+    ADMIN("admin", "GET /api/admin/users");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operation byName(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
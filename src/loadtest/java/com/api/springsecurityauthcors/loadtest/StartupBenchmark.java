@@ -0,0 +1,202 @@
+package com.api.springsecurityauthcors.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first successful login and resident memory of freshly started application
+ * processes, for the plain jar, the AOT-processed jar and the native executable.
+ * Builds: {@code mvn -DskipTests package} for the jar, {@code mvn -Pnative -DskipTests package}
+ * for the AOT jar and {@code mvn -Pnative -DskipTests native:compile} for the executable.
+ * <p>
+ * Options: {@code --jar=<file>} (runs it as is), {@code --aot-jar=<file>} (runs it with
+ * {@code -Dspring.aot.enabled=true}), {@code --native=<file>}, {@code --runs=5},
+ * {@code --report=target/startup-report.json}. RSS is read from /proc, so Linux only.
+ */
+public final class StartupBenchmark {
+    private static final String EMAIL = "startup@example.com";
+    private static final String PASSWORD = "startup-password";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, List<String>> targets = new LinkedHashMap<>();
+        int runs = 5;
+        Path report = Path.of("target/startup-report.json");
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--jar=")) {
+                targets.put("jvm", List.of("java", "-jar", value));
+            } else if (arg.startsWith("--aot-jar=")) {
+                targets.put("jvm-aot", List.of("java", "-Dspring.aot.enabled=true", "-jar", value));
+            } else if (arg.startsWith("--native=")) {
+                targets.put("native", List.of(value));
+            } else if (arg.startsWith("--runs=")) {
+                runs = Integer.parseInt(value);
+            } else if (arg.startsWith("--report=")) {
+                report = Path.of(value);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("Pass at least one of --jar, --aot-jar, --native");
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start()) {
+            String jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            prepareDatabase(jdbcUrl);
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+            for (Map.Entry<String, List<String>> target : targets.entrySet()) {
+                long[] firstLoginMillis = new long[runs];
+                long[] rssKb = new long[runs];
+                long[] peakRssKb = new long[runs];
+                for (int run = 0; run < runs; run++) {
+                    long[] sample = measure(target.getKey(), target.getValue(), jdbcUrl, client, run);
+                    firstLoginMillis[run] = sample[0];
+                    rssKb[run] = sample[1];
+                    peakRssKb[run] = sample[2];
+                }
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("command", String.join(" ", target.getValue()));
+                result.put("timeToFirstLoginMillis", firstLoginMillis);
+                result.put("rssMb", toMb(rssKb));
+                result.put("peakRssMb", toMb(peakRssKb));
+                result.put("medianTimeToFirstLoginMillis", median(firstLoginMillis));
+                result.put("medianRssMb", median(rssKb) / 1024.0);
+                result.put("medianPeakRssMb", median(peakRssKb) / 1024.0);
+                results.put(target.getKey(), result);
+                System.out.printf("%-8s first login %6d ms   rss %7.1f MB   peak rss %7.1f MB%n", target.getKey(),
+                        median(firstLoginMillis), median(rssKb) / 1024.0, median(peakRssKb) / 1024.0);
+            }
+        }
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(report.toFile(), Map.of("runs", runs, "targets", results));
+        System.out.println("Report: " + report.toAbsolutePath());
+    }
+
+    /**
+     * Applies the migrations once and adds the user that every run logs in as, so each run
+     * starts against the same schema.
+     */
+    private static void prepareDatabase(String jdbcUrl) throws SQLException {
+        Flyway.configure().dataSource(jdbcUrl, "postgres", "postgres").load().migrate();
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "postgres", "postgres");
+             PreparedStatement insert = connection.prepareStatement(
+                     "insert into jwt_users (first_name, last_name, email, password, role) values (?, ?, ?, ?, ?)")) {
+            insert.setString(1, "Startup");
+            insert.setString(2, "Benchmark");
+            insert.setString(3, EMAIL);
+            insert.setString(4, new BCryptPasswordEncoder().encode(PASSWORD));
+            insert.setString(5, "USER");
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * Starts the process and polls the login endpoint until it succeeds.
+     * Returns the elapsed milliseconds, VmRSS and VmHWM in kB.
+     */
+    private static long[] measure(String name, List<String> command, String jdbcUrl, HttpClient client, int run)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> processCommand = new ArrayList<>(command);
+        processCommand.addAll(List.of(
+                "--spring.datasource.url=" + jdbcUrl,
+                "--server.port=" + port,
+                "--logging.level.root=WARN"));
+        Path log = Path.of("target", "startup-" + name + "-" + run + ".log");
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(5))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(processCommand)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() - start > STARTUP_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException(name + " did not accept a login within " + STARTUP_TIMEOUT);
+                }
+                try {
+                    if (client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Map<String, Long> memory = memoryKb(process.pid());
+            return new long[]{elapsedMillis, memory.getOrDefault("VmRSS", 0L), memory.getOrDefault("VmHWM", 0L)};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static Map<String, Long> memoryKb(long pid) throws IOException {
+        Map<String, Long> memory = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+            if (line.startsWith("VmRSS:") || line.startsWith("VmHWM:")) {
+                String[] parts = line.split("\\s+");
+                memory.put(parts[0].substring(0, parts[0].length() - 1), Long.parseLong(parts[1]));
+            }
+        }
+        return memory;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static double[] toMb(long[] kb) {
+        return Arrays.stream(kb).mapToDouble(value -> value / 1024.0).toArray();
+    }
+}
@@ -0,0 +1,125 @@
+package com.api.springsecurityauthcors.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * One simulated client: its own account and token pair, so refresh-token rotation of different
+ * virtual users never conflicts. Every call returns the HTTP status.
+ */
+final class VirtualUser {
+    static final String PASSWORD = "load-test-password";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final URI baseUri;
+    private final String email;
+    private final String adminAccessToken;
+    private String accessToken;
+    private String refreshToken;
+    private int registered;
+
+    VirtualUser(HttpClient client, ObjectMapper objectMapper, URI baseUri, String email, String adminAccessToken) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri;
+        this.email = email;
+        this.adminAccessToken = adminAccessToken;
+    }
+
+    int execute(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case REGISTER -> register(email.replace("@", "+" + (++registered) + "@"));
+            case LOGIN -> login();
+            case REFRESH -> refresh();
+            case CURRENT -> dropTokensUnlessOk(send(get("/api/users/current", accessToken)).statusCode());
+            case ADMIN -> send(get("/api/admin/users?size=20", adminAccessToken)).statusCode();
+        };
+    }
+
+    int register(String address) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/api/auth/register", Map.of(
+                "firstName", "Load",
+                "lastName", "Test",
+                "email", address,
+                "password", PASSWORD)));
+        if (response.statusCode() == 200 && address.equals(email)) {
+            keepTokens(response);
+        }
+        return response.statusCode();
+    }
+
+    int login() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/api/auth/login", Map.of("email", email, "password", PASSWORD)));
+        if (response.statusCode() == 200) {
+            keepTokens(response);
+        }
+        return response.statusCode();
+    }
+
+    private int refresh() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/api/auth/refreshtoken", Map.of("token", refreshToken)));
+        if (response.statusCode() == 200) {
+            keepTokens(response);
+        }
+        return dropTokensUnlessOk(response.statusCode());
+    }
+
+    /**
+     * False after a rejected token; the caller logs in again outside of the measurement.
+     */
+    boolean hasTokens() {
+        return accessToken != null;
+    }
+
+    String email() {
+        return email;
+    }
+
+    String accessToken() {
+        return accessToken;
+    }
+
+    private int dropTokensUnlessOk(int status) {
+        if (status != 200) {
+            accessToken = null;
+            refreshToken = null;
+        }
+        return status;
+    }
+
+    private void keepTokens(HttpResponse<String> response) throws IOException {
+        JsonNode body = objectMapper.readTree(response.body());
+        accessToken = body.get("accessToken").asText();
+        refreshToken = body.get("refreshToken").asText();
+    }
+
+    private HttpRequest get(String path, String bearer) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + bearer)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Map<String, String> body) throws IOException {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,24 @@
+package com.api.springsecurityauthcors;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Resources and classes of the second-level cache that are only named in configuration:
+ * the JCache provider is instantiated by class name and reads its regions from
+ * application.conf on top of the Typesafe Config reference.conf files.
+ */
+class PersistenceRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(
+                TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources()
+                .registerPattern("application.conf")
+                .registerPattern("reference.conf");
+    }
+}
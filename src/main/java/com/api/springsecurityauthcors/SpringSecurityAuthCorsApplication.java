@@ -2,8 +2,12 @@ package com.api.springsecurityauthcors;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(PersistenceRuntimeHints.class)
 public class SpringSecurityAuthCorsApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,14 @@
+package com.api.springsecurityauthcors.audit;
+
+import java.util.List;
+
+/**
+ * Destination of audit events. Only the audit writer thread calls it, one batch at a time.
+ */
+public interface AuditSink {
+
+    void write(List<AuthAuditEvent> batch) throws Exception;
+
+    default void close() throws Exception {
+    }
+}
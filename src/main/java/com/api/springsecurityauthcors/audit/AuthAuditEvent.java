@@ -0,0 +1,22 @@
+package com.api.springsecurityauthcors.audit;
+
+import java.time.Instant;
+
+/**
+ * One audited authentication event. {@code outcome} uses the outcome names of
+ * {@link com.api.springsecurityauthcors.metrics.AuthMetrics}; user id, email and address are null when unknown.
+ */
+public record AuthAuditEvent(Instant occurredAt,
+                             Type type,
+                             String outcome,
+                             Long userId,
+                             String email,
+                             String remoteAddress) {
+
+    public enum Type {
+        REGISTER,
+        LOGIN,
+        REFRESH,
+        PASSWORD_CHANGE
+    }
+}
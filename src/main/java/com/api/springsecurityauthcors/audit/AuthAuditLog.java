@@ -0,0 +1,177 @@
+package com.api.springsecurityauthcors.audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of authentication events that stays off the request path: {@link #record} only puts
+ * the event into a bounded lock-free ring buffer, and a background writer hands it to the
+ * {@link AuditSink} in batches of {@code batch-size}, or whatever has arrived after {@code flush-interval}.
+ * <p>
+ * When the buffer is full the event is dropped ({@code overflow: drop}), or the caller waits up to
+ * {@code block-timeout} for space before dropping it ({@code overflow: block}). Events still buffered
+ * at shutdown are written before the sink is closed.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class AuthAuditLog implements MeterBinder {
+    private static final long BLOCK_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private final AuditSink sink;
+    private final boolean enabled;
+    private final AuditRingBuffer<AuthAuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuthAuditLog(AuditSink sink,
+                        @Value("${auth.audit.enabled:true}") boolean enabled,
+                        @Value("${auth.audit.capacity:8192}") int capacity,
+                        @Value("${auth.audit.batch-size:500}") int batchSize,
+                        @Value("${auth.audit.flush-interval:200ms}") Duration flushInterval,
+                        @Value("${auth.audit.overflow:drop}") String overflow,
+                        @Value("${auth.audit.block-timeout:50ms}") Duration blockTimeout) {
+        this.sink = sink;
+        this.enabled = enabled;
+        this.buffer = new AuditRingBuffer<>(capacity);
+        this.batchSize = Math.max(1, Math.min(batchSize, buffer.capacity()));
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = OverflowPolicy.valueOf(overflow.trim().toUpperCase(Locale.ROOT));
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.writer = new Thread(this::writeLoop, "auth-audit-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            writer.start();
+        }
+    }
+
+    public void record(AuthAuditEvent.Type type, String outcome, Long userId, String email, String remoteAddress) {
+        if (enabled) {
+            publish(new AuthAuditEvent(Instant.now(), type, outcome, userId, email, remoteAddress));
+        }
+    }
+
+    void publish(AuthAuditEvent event) {
+        if (buffer.offer(event) || overflowPolicy == OverflowPolicy.BLOCK && offerWithinTimeout(event)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+        dropped.increment();
+    }
+
+    private boolean offerWithinTimeout(AuthAuditEvent event) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        LockSupport.unpark(writer);
+        while (deadline - System.nanoTime() > 0) {
+            LockSupport.parkNanos(BLOCK_BACKOFF_NANOS);
+            if (buffer.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeLoop() {
+        List<AuthAuditEvent> batch = new ArrayList<>(batchSize);
+        long batchStarted = 0;
+        while (running) {
+            if (batch.isEmpty()) {
+                if (buffer.drainTo(batch, batchSize) == 0) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                    continue;
+                }
+                batchStarted = System.nanoTime();
+            } else {
+                buffer.drainTo(batch, batchSize - batch.size());
+            }
+            long waited = System.nanoTime() - batchStarted;
+            if (batch.size() == batchSize || waited >= flushIntervalNanos) {
+                flush(batch);
+            } else {
+                LockSupport.parkNanos(this, flushIntervalNanos - waited);
+            }
+        }
+        do {
+            buffer.drainTo(batch, batchSize - batch.size());
+            flush(batch);
+        } while (buffer.size() > 0);
+    }
+
+    private void flush(List<AuthAuditEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            sink.write(batch);
+            written.add(batch.size());
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.warn("Could not write {} audit events", batch.size(), e);
+        }
+        batch.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.audit.queue.depth", buffer, AuditRingBuffer::size)
+                .register(registry);
+        Gauge.builder("auth.audit.queue.capacity", buffer, AuditRingBuffer::capacity)
+                .register(registry);
+        FunctionCounter.builder("auth.audit.dropped", dropped, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("auth.audit.written", written, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("auth.audit.failed", failed, LongAdder::sum)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer.isAlive()) {
+            LockSupport.unpark(writer);
+            writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        }
+        try {
+            sink.close();
+        } catch (Exception e) {
+            log.warn("Could not close the audit sink", e);
+        }
+    }
+}
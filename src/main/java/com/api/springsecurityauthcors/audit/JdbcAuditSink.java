@@ -0,0 +1,44 @@
+package com.api.springsecurityauthcors.audit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Inserts each batch into auth_audit_event with a single JDBC batch.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "auth.audit.sink", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcAuditSink implements AuditSink {
+    private static final String INSERT_EVENT = """
+            insert into auth_audit_event (occurred_at, event_type, outcome, user_id, email, remote_address)
+            values (?, ?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcAuditSink(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void write(List<AuthAuditEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT, batch, batch.size(), (statement, event) -> {
+            statement.setTimestamp(1, Timestamp.from(event.occurredAt()));
+            statement.setString(2, event.type().name());
+            statement.setString(3, event.outcome());
+            if (event.userId() != null) {
+                statement.setLong(4, event.userId());
+            } else {
+                statement.setNull(4, Types.BIGINT);
+            }
+            statement.setString(5, event.email());
+            statement.setString(6, event.remoteAddress());
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.api.springsecurityauthcors.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events as JSON lines to a local file. Once the file exceeds {@code max-size} it is renamed
+ * to {@code <file>.1} (older ones shift up to {@code <file>.<max-files>}, the oldest is deleted) and a new file is started.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "auth.audit.sink", havingValue = "file")
+public class RotatingFileAuditSink implements AuditSink {
+    private static final byte NEW_LINE = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final long maxSize;
+    private final int maxFiles;
+    private OutputStream out;
+    private long size;
+
+    public RotatingFileAuditSink(ObjectMapper objectMapper,
+                                 @Value("${auth.audit.file.path:logs/auth-audit.log}") Path file,
+                                 @Value("${auth.audit.file.max-size:10MB}") DataSize maxSize,
+                                 @Value("${auth.audit.file.max-files:5}") int maxFiles) {
+        this.objectMapper = objectMapper;
+        this.file = file;
+        this.maxSize = maxSize.toBytes();
+        this.maxFiles = Math.max(maxFiles, 1);
+    }
+
+    @Override
+    public void write(List<AuthAuditEvent> batch) throws IOException {
+        if (out == null) {
+            open();
+        } else if (size >= maxSize) {
+            rotate();
+        }
+        for (AuthAuditEvent event : batch) {
+            byte[] line = objectMapper.writeValueAsBytes(event);
+            out.write(line);
+            out.write(NEW_LINE);
+            size += line.length + 1;
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        size = Files.size(file);
+    }
+
+    private void rotate() throws IOException {
+        close();
+        Files.deleteIfExists(rotated(maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            if (Files.exists(rotated(i))) {
+                Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
@@ -1,42 +1,90 @@
 package com.api.springsecurityauthcors.controller.admin;
 
-import com.api.springsecurityauthcors.domain.DTO.user.UserResponseDTO;
+import com.api.springsecurityauthcors.domain.DTO.auth.RegisterRequest;
+import com.api.springsecurityauthcors.domain.DTO.user.UserImportResultDTO;
+import com.api.springsecurityauthcors.domain.DTO.user.UserPageResponseDTO;
+import com.api.springsecurityauthcors.domain.DTO.user.UserSearchRequest;
+import com.api.springsecurityauthcors.service.user.UserImportService;
 import com.api.springsecurityauthcors.service.user.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.util.concurrent.Callable;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/admin")
 @PreAuthorize("hasAuthority('ADMIN')")
+@RegisterReflectionForBinding({UserPageResponseDTO.class, UserImportResultDTO.class, RegisterRequest.class})
 @RequiredArgsConstructor
 public class AdminController {
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @GetMapping("/users")
     @Operation(
-            summary = "Retrieve All Users",
-            description = "Get a list of all users. The response is a list of UserResponseDTO objects.",
+            summary = "Retrieve Users Page",
+            description = "Get a page of users ordered by id. Pass nextCursor of the previous page as after to get the next one. Optional filters: role, emailPrefix and name (first or last name prefix). The response is a UserPageResponseDTO object.",
             tags = {"admin","users", "get"})
     @ApiResponses({
-            @ApiResponse(responseCode = "200", content = {@Content(schema = @Schema(implementation = UserResponseDTO.class), mediaType = "application/json")}),
+            @ApiResponse(responseCode = "200", content = {@Content(schema = @Schema(implementation = UserPageResponseDTO.class), mediaType = "application/json")}),
             @ApiResponse(responseCode = "500", content = {@Content(schema = @Schema())})})
-    public ResponseEntity<?> getAllUsers() {
+    public ResponseEntity<?> getUsers(@ParameterObject UserSearchRequest request) {
         try {
-            List<UserResponseDTO> users = userService.getAllUsers();
-            return ResponseEntity.ok(users);
+            return ResponseEntity.ok(userService.getUsers(request));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    @PostMapping(value = "/users/import", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Import Users",
+            description = "Register users in bulk. The request body is a JSON array of RegisterRequest objects and is read as a stream. The response streams one UserImportResultDTO per input row as newline-delimited JSON, in input order. Only one import runs at a time.",
+            tags = {"admin", "users", "post"})
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = {@Content(schema = @Schema(implementation = UserImportResultDTO.class), mediaType = "application/x-ndjson")}),
+            @ApiResponse(responseCode = "429", content = {@Content(schema = @Schema())})})
+    public ResponseEntity<?> importUsers(HttpServletRequest request) {
+        UserImportService.Lease lease = userImportService.tryStart().orElse(null);
+        if (lease == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Импорт пользователей уже выполняется.");
+        }
+        // The body may never run (client abort, async timeout): release on async completion as well.
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(UserImportService.Lease.class,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        lease.close();
+                    }
+                });
+        StreamingResponseBody body = out -> {
+            try (lease) {
+                userImportService.importUsers(request.getInputStream(), out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 }
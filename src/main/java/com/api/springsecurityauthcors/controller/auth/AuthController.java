@@ -1,10 +1,19 @@
 package com.api.springsecurityauthcors.controller.auth;
 
+import com.api.springsecurityauthcors.audit.AuthAuditEvent;
+import com.api.springsecurityauthcors.audit.AuthAuditLog;
 import com.api.springsecurityauthcors.domain.DTO.auth.*;
 import com.api.springsecurityauthcors.domain.entity.RefreshToken;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
 import com.api.springsecurityauthcors.security.JwtService;
+import com.api.springsecurityauthcors.security.LoginThrottle;
 import com.api.springsecurityauthcors.service.auth.AuthenticationService;
+import com.api.springsecurityauthcors.service.auth.PasswordHashingExecutor;
 import com.api.springsecurityauthcors.service.auth.RefreshTokenService;
+import com.api.springsecurityauthcors.service.auth.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,21 +23,38 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/auth")
+@RegisterReflectionForBinding({JWTResponse.class, ChangePasswordResponse.class})
 @RequiredArgsConstructor
 @Tag(name = "auth")
 public class AuthController {
     private final AuthenticationService authenticationService;
     private final RefreshTokenService refreshTokenService;
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final LoginThrottle loginThrottle;
+    private final AuthMetrics authMetrics;
+    private final AuthAuditLog auditLog;
 
     @PostMapping("/register")
     @Operation(
@@ -38,23 +64,19 @@ public class AuthController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = JWTResponse.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "429", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
-    public ResponseEntity<?> register(
+    public CompletableFuture<ResponseEntity<?>> register(
             @Valid @RequestBody RegisterRequest request
     ) {
-        try {
-            var accessToken = authenticationService.register(request).getToken();
-            RefreshToken refreshToken = refreshTokenService.createRefreshToken(request.getEmail());
-            return ResponseEntity.ok().body(
-                    JWTResponse.builder()
-                            .accessToken(accessToken)
-                            .refreshToken(refreshToken.getToken())
-                            .role(refreshToken.getUser().getRole())
-                            .build()
-            );
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
-        }
+        Timer.Sample sample = authMetrics.start();
+        return timed("register", sample, onPasswordWorker(
+                () -> authenticationService.encodePassword(request.getPassword()),
+                encodedPassword -> tokens(
+                        authenticationService.register(request, encodedPassword).getToken(),
+                        request.getEmail()
+                ),
+                true));
     }
 
     @PostMapping("/login")
@@ -65,18 +87,27 @@ public class AuthController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = JWTResponse.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "429", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
-    public ResponseEntity<?> authenticate(
-            @Valid @RequestBody AuthenticationRequest request
+    public CompletableFuture<ResponseEntity<?>> authenticate(
+            @Valid @RequestBody AuthenticationRequest request,
+            HttpServletRequest httpRequest
     ) {
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(request.getEmail());
-        return ResponseEntity.ok().body(
-                JWTResponse.builder()
-                        .accessToken(authenticationService.authenticate(request).getToken())
-                        .refreshToken(refreshToken.getToken())
-                        .role(refreshToken.getUser().getRole())
-                        .build()
-        );
+        Timer.Sample sample = authMetrics.start();
+        String remoteAddress = httpRequest.getRemoteAddr();
+        if (!loginThrottle.tryAcquire(request.getEmail(), remoteAddress)) {
+            auditLog.record(AuthAuditEvent.Type.LOGIN, AuthMetrics.THROTTLED, null, request.getEmail(), remoteAddress);
+            return timed("login", sample, CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Слишком много попыток входа, повторите попытку позже.")
+            ));
+        }
+        return timed("login", sample, onPasswordWorker(
+                () -> authenticationService.verifyCredentials(request, remoteAddress),
+                authentication -> tokens(
+                        authenticationService.issueToken(request, remoteAddress).getToken(),
+                        request.getEmail()
+                ),
+                false));
     }
 
     @PostMapping("/refreshtoken")
@@ -87,19 +118,36 @@ public class AuthController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = JWTResponse.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequest request) {
+        Timer.Sample sample = authMetrics.start();
+        ResponseEntity<?> response = refresh(request);
+        authMetrics.endpoint(sample, "refresh", AuthMetrics.outcomeOf(response, null));
+        return response;
+    }
+
+    private ResponseEntity<?> refresh(RefreshTokenRequest request) {
         try {
-            RefreshToken refreshToken = refreshTokenService.findByToken(request.getToken()).get();
-            String userName = refreshToken.getUser().getEmail();
+            var rotation = refreshTokenService.rotateRefreshToken(request.getToken());
+            if (!rotation.isRotated()) {
+                auditLog.record(AuthAuditEvent.Type.REFRESH, AuthMetrics.CONFLICT, null, null, null);
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                        String.format("RefreshToken с token : %s не найден, истёк или уже обновлён.", request.getToken())
+                );
+            }
+            RefreshToken refreshToken = rotation.refreshToken();
+            var user = refreshToken.getUser();
+            auditLog.record(AuthAuditEvent.Type.REFRESH, AuthMetrics.OK, user.getId(), user.getEmail(), null);
             return ResponseEntity.ok().body(
                     JWTResponse.builder()
-                            .refreshToken(refreshTokenService.updateRefreshToken(refreshToken.getToken()).getToken())
-                            .accessToken(jwtService.generateToken(userName))
-                            .role(refreshToken.getUser().getRole())
+                            .refreshToken(refreshToken.getToken())
+                            .accessToken(jwtService.generateToken(user))
+                            .role(user.getRole())
                             .build()
             );
         } catch (Exception e) {
+            auditLog.record(AuthAuditEvent.Type.REFRESH, AuthMetrics.BAD_REQUEST, null, null, null);
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
@@ -112,18 +160,106 @@ public class AuthController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "429", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
-    public ResponseEntity<?> changePasswordById(
+    public CompletableFuture<ResponseEntity<?>> changePasswordById(
             @RequestBody ChangePasswordRequest changePassrequest,
             HttpServletRequest request
     ) {
+        Timer.Sample sample = authMetrics.start();
+        final String usernameFromAccess;
         try {
-            String authorizationHeader = request.getHeader("Authorization");
-            String token = authorizationHeader.substring(7);
-            String usernameFromAccess = jwtService.extractUserName(token);
-            return ResponseEntity.ok().body(authenticationService.changePassword(changePassrequest, usernameFromAccess));
+            usernameFromAccess = activeClaims(request).getSubject();
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return timed("change_password", sample,
+                    CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage())));
+        }
+        return timed("change_password", sample, onPasswordWorker(
+                () -> authenticationService.encodePassword(changePassrequest.getPassword()),
+                encodedPassword -> ResponseEntity.ok().body(
+                        authenticationService.changePassword(changePassrequest, usernameFromAccess, encodedPassword)
+                ),
+                true));
+    }
+
+    @PostMapping("/logout")
+    @Operation(
+            summary = "Logout",
+            description = "Revoke the access token from the Authorization header until it expires and delete the refresh token of its user.",
+            tags = { "users", "post" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    public ResponseEntity<?> logout(HttpServletRequest request) {
+        Timer.Sample sample = authMetrics.start();
+        ResponseEntity<?> response;
+        try {
+            Claims claims = activeClaims(request);
+            tokenRevocationService.revoke(claims);
+            Long userId = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+            if (userId != null) {
+                refreshTokenService.revokeRefreshTokens(userId);
+            }
+            response = ResponseEntity.ok().body("Выход выполнен.");
+        } catch (Exception e) {
+            response = ResponseEntity.badRequest().body(e.getMessage());
+        }
+        authMetrics.endpoint(sample, "logout", AuthMetrics.outcomeOf(response, null));
+        return response;
+    }
+
+    /**
+     * Claims of the bearer token. /api/auth/** is skipped by JWTAuthenticationFilter, so the revocation
+     * check it applies to other routes is repeated here.
+     */
+    private Claims activeClaims(HttpServletRequest request) {
+        Claims claims = jwtService.extractAllClaims(request.getHeader("Authorization").substring(7));
+        if (tokenRevocationService.isRevoked(claims)) {
+            throw new JwtException("Токен отозван.");
+        }
+        return claims;
+    }
+
+    private ResponseEntity<?> tokens(String accessToken, String email) {
+        RefreshToken refreshToken = refreshTokenService.createRefreshToken(email);
+        return ResponseEntity.ok().body(
+                JWTResponse.builder()
+                        .accessToken(accessToken)
+                        .refreshToken(refreshToken.getToken())
+                        .role(refreshToken.getUser().getRole())
+                        .build()
+        );
+    }
+
+    private CompletableFuture<ResponseEntity<?>> timed(String endpoint,
+                                                       Timer.Sample sample,
+                                                       CompletableFuture<ResponseEntity<?>> response) {
+        return response.whenComplete((result, failure) ->
+                authMetrics.endpoint(sample, endpoint, AuthMetrics.outcomeOf(result, causeOf(failure))));
+    }
+
+    /**
+     * Runs only the hashing or matching on the bounded password pool; the database work and token minting
+     * that follow continue on the application task executor, so they never hold a password worker.
+     */
+    private <T> CompletableFuture<ResponseEntity<?>> onPasswordWorker(Callable<T> passwordWork,
+                                                                      Function<T, ResponseEntity<?>> then,
+                                                                      boolean failuresAsBadRequest) {
+        try {
+            CompletableFuture<ResponseEntity<?>> response = passwordHashingExecutor.submit(passwordWork)
+                    .thenApplyAsync(then, applicationTaskExecutor);
+            return failuresAsBadRequest
+                    ? response.exceptionally(e -> ResponseEntity.badRequest().body(causeOf(e).getMessage()))
+                    : response;
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage())
+            );
         }
     }
+
+    private static Throwable causeOf(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
 }
@@ -0,0 +1,36 @@
+package com.api.springsecurityauthcors.controller.jwks;
+
+import com.api.springsecurityauthcors.security.JwtKeyRing;
+import com.api.springsecurityauthcors.security.JwtSigningProperties;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+    private final JwtKeyRing keyRing;
+    private final JwtSigningProperties signingProperties;
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(
+            summary = "JSON Web Key Set",
+            description = "Public keys that verify access tokens, identified by the kid token header. Empty when tokens are signed with HS256.",
+            tags = {"auth", "get"})
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = {@Content(mediaType = "application/json")})})
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(signingProperties.getJwksMaxAge()).cachePublic())
+                .body(Map.of("keys", keyRing.getJwks()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.api.springsecurityauthcors.domain.DTO.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserPageResponseDTO {
+    private List<UserResponseDTO> users;
+    private Long nextCursor;
+}
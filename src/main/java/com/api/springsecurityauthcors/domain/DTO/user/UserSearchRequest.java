@@ -0,0 +1,19 @@
+package com.api.springsecurityauthcors.domain.DTO.user;
+
+import com.api.springsecurityauthcors.domain.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSearchRequest {
+    private Long after;
+    private Integer size;
+    private Role role;
+    private String emailPrefix;
+    private String name;
+}
@@ -9,6 +9,10 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_refresh_token_token", columnList = "token"),
+        @Index(name = "idx_refresh_token_expiration", columnList = "expiration")
+})
 @Getter
 @Setter
 public class RefreshToken {
@@ -20,7 +24,7 @@ public class RefreshToken {
 
     private Instant expiration;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private UserEntity user;
 }
@@ -0,0 +1,22 @@
+package com.api.springsecurityauthcors.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_revoked_token_expiration", columnList = "expiration")
+})
+@Getter
+@Setter
+public class RevokedToken {
+    @Id
+    private String jti;
+
+    private Instant expiration;
+}
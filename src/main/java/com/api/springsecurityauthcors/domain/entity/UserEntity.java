@@ -3,6 +3,10 @@ package com.api.springsecurityauthcors.domain.entity;
 import com.api.springsecurityauthcors.domain.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,7 +20,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "jwt_users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
+// The name prefix indexes need text_pattern_ops, which @Index cannot express: see V4__name_prefix_indexes.sql.
+@Table(name = "jwt_users", indexes = {
+        @Index(name = "idx_jwt_users_role_id", columnList = "role, id")
+})
 public class UserEntity implements UserDetails {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,6 +37,8 @@ public class UserEntity implements UserDetails {
 
     private String patronymic;
 
+    @NaturalId
+    @Column(nullable = false)
     private String email;
 
     private String password;
@@ -35,8 +46,6 @@ public class UserEntity implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role;
 
-    @OneToOne(mappedBy = "user")
-    private RefreshToken refreshToken;
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role.name()));
@@ -0,0 +1,106 @@
+package com.api.springsecurityauthcors.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency of the authentication pipeline, per stage and per auth endpoint, tagged with the outcome.
+ * Timers publish percentile histograms so SLO dashboards can be built from {@code /actuator/prometheus}.
+ * <p>
+ * Response mapping has no stage of its own. Building the {@code JWTResponse} is a few field copies, and JSON
+ * serialization runs after the handler returns, outside every timer here. Spring's {@code http.server.requests}
+ * covers it, so its gap to {@code auth.endpoint.duration} is the mapping and serialization cost.
+ */
+@Component
+public class AuthMetrics {
+    public static final String STAGE_JWT_PARSE = "jwt_parse";
+    public static final String STAGE_JWT_MINT = "jwt_mint";
+    public static final String STAGE_USER_LOOKUP = "user_lookup";
+    public static final String STAGE_PASSWORD_MATCH = "password_match";
+    public static final String STAGE_PASSWORD_HASH = "password_hash";
+    public static final String STAGE_REFRESH_ISSUE = "refresh_issue";
+    public static final String STAGE_REFRESH_ROTATE = "refresh_rotate";
+
+    public static final String OK = "ok";
+    public static final String EXPIRED = "expired";
+    public static final String BAD_SIGNATURE = "bad_signature";
+    public static final String MALFORMED = "malformed";
+    public static final String USER_NOT_FOUND = "user_not_found";
+    public static final String BAD_PASSWORD = "bad_password";
+    public static final String BAD_CREDENTIALS = "bad_credentials";
+    public static final String CONFLICT = "conflict";
+    public static final String THROTTLED = "throttled";
+    public static final String BAD_REQUEST = "bad_request";
+    public static final String UNAUTHORIZED = "unauthorized";
+    public static final String ERROR = "error";
+
+    private static final String STAGE_TIMER = "auth.stage.duration";
+    private static final String ENDPOINT_TIMER = "auth.endpoint.duration";
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Timer>> stageTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Timer>> endpointTimers = new ConcurrentHashMap<>();
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Metrics that are recorded nowhere, for code constructed outside the Spring context.
+     */
+    public static AuthMetrics noop() {
+        return new AuthMetrics(new CompositeMeterRegistry());
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void stage(Timer.Sample sample, String stage, String outcome) {
+        sample.stop(timer(stageTimers, STAGE_TIMER, "stage", stage, outcome));
+    }
+
+    public void endpoint(Timer.Sample sample, String endpoint, String outcome) {
+        sample.stop(timer(endpointTimers, ENDPOINT_TIMER, "endpoint", endpoint, outcome));
+    }
+
+    public static String outcomeOf(ResponseEntity<?> response, Throwable failure) {
+        if (failure != null) {
+            return failure instanceof AuthenticationException ? BAD_CREDENTIALS : ERROR;
+        }
+        int status = response.getStatusCode().value();
+        if (status < 300) {
+            return OK;
+        }
+        return switch (status) {
+            case 400 -> BAD_REQUEST;
+            case 401, 403 -> UNAUTHORIZED;
+            case 409 -> CONFLICT;
+            case 429 -> THROTTLED;
+            default -> ERROR;
+        };
+    }
+
+    private Timer timer(ConcurrentHashMap<String, ConcurrentHashMap<String, Timer>> timers,
+                        String name, String key, String value, String outcome) {
+        ConcurrentHashMap<String, Timer> byOutcome = timers.get(value);
+        if (byOutcome == null) {
+            byOutcome = timers.computeIfAbsent(value, v -> new ConcurrentHashMap<>());
+        }
+        Timer timer = byOutcome.get(outcome);
+        if (timer == null) {
+            timer = byOutcome.computeIfAbsent(outcome, o -> Timer.builder(name)
+                    .tag(key, value)
+                    .tag("outcome", o)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        return timer;
+    }
+}
@@ -2,10 +2,50 @@ package com.api.springsecurityauthcors.repo.refresh;
 
 import com.api.springsecurityauthcors.domain.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.Optional;
 
 public interface RefreshTokenRepo extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findRefreshTokenByToken(String token);
 
-}
\ No newline at end of file
+    Optional<RefreshToken> findRefreshTokenByTokenAndExpirationAfter(String token, Instant now);
+
+    Optional<RefreshToken> findByUserId(Long userId);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.user.id = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Inserts a token for the user, or replaces theirs if it has expired; a live token is left as is.
+     * Concurrent calls for the same user serialize on the unique user_id instead of failing.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "insert into refresh_token (token, expiration, user_id) values (:token, :expiration, :userId) " +
+            "on conflict (user_id) do update set token = excluded.token, expiration = excluded.expiration " +
+            "where refresh_token.expiration <= :now", nativeQuery = true)
+    int upsertForUser(@Param("userId") Long userId,
+                      @Param("token") String token,
+                      @Param("expiration") Instant expiration,
+                      @Param("now") Instant now);
+
+    @Query("select r from RefreshToken r join fetch r.user where r.token = :token")
+    Optional<RefreshToken> findWithUserByToken(@Param("token") String token);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update RefreshToken r set r.token = :newToken, r.expiration = :newExpiration " +
+            "where r.token = :oldToken and r.expiration > :now")
+    int rotate(@Param("oldToken") String oldToken,
+               @Param("newToken") String newToken,
+               @Param("newExpiration") Instant newExpiration,
+               @Param("now") Instant now);
+
+    @Modifying
+    @Query(value = "delete from refresh_token where id in " +
+            "(select id from refresh_token where expiration <= :now limit :limit)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("limit") int limit);
+}
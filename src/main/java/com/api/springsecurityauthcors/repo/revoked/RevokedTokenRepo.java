@@ -0,0 +1,18 @@
+package com.api.springsecurityauthcors.repo.revoked;
+
+import com.api.springsecurityauthcors.domain.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepo extends JpaRepository<RevokedToken, String> {
+    List<RevokedToken> findByExpirationAfter(Instant now);
+
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiration <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,10 +1,15 @@
 package com.api.springsecurityauthcors.repo.user;
 
+import com.api.springsecurityauthcors.domain.DTO.user.UserResponseDTO;
 import com.api.springsecurityauthcors.domain.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
-public interface UserRepo extends JpaRepository<UserEntity,Long> {
-    Optional<UserEntity> findByEmail(String email);
+public interface UserRepo extends JpaRepository<UserEntity,Long>, UserRepoCustom {
+    @Query("select new com.api.springsecurityauthcors.domain.DTO.user.UserResponseDTO(" +
+            "u.firstName, u.lastName, u.patronymic, u.email) from UserEntity u where u.id = :id")
+    Optional<UserResponseDTO> findResponseById(@Param("id") Long id);
 }
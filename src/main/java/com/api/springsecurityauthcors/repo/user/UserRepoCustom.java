@@ -0,0 +1,20 @@
+package com.api.springsecurityauthcors.repo.user;
+
+import com.api.springsecurityauthcors.domain.DTO.user.UserSearchRequest;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface UserRepoCustom {
+    /**
+     * Looks the user up by its natural id; served from the second-level cache when both the
+     * email -> id mapping and the entity are cached.
+     */
+    Optional<UserEntity> findByEmail(String email);
+
+    /**
+     * Keyset page of users ordered by id, starting after {@link UserSearchRequest#getAfter()}.
+     */
+    List<UserResponseRow> findPage(UserSearchRequest request, int limit);
+}
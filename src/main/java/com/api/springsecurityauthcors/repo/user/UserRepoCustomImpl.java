@@ -0,0 +1,82 @@
+package com.api.springsecurityauthcors.repo.user;
+
+import com.api.springsecurityauthcors.domain.DTO.user.UserSearchRequest;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class UserRepoCustomImpl implements UserRepoCustom {
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    // SUPPORTS only scopes a session to the call: a cache hit never checks a connection out of the pool.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<UserEntity> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserEntity.class)
+                .loadOptional(email);
+    }
+
+    @Override
+    public List<UserResponseRow> findPage(UserSearchRequest request, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserResponseRow> query = cb.createQuery(UserResponseRow.class);
+        Root<UserEntity> user = query.from(UserEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (request.getAfter() != null) {
+            predicates.add(cb.greaterThan(user.get("id"), request.getAfter()));
+        }
+        if (request.getRole() != null) {
+            predicates.add(cb.equal(user.get("role"), request.getRole()));
+        }
+        if (hasText(request.getEmailPrefix())) {
+            predicates.add(cb.like(user.get("email"), prefixPattern(request.getEmailPrefix()), LIKE_ESCAPE));
+        }
+        if (hasText(request.getName())) {
+            String pattern = prefixPattern(request.getName());
+            predicates.add(cb.or(
+                    cb.like(user.get("lastName"), pattern, LIKE_ESCAPE),
+                    cb.like(user.get("firstName"), pattern, LIKE_ESCAPE)
+            ));
+        }
+
+        query.select(cb.construct(
+                        UserResponseRow.class,
+                        user.get("id"),
+                        user.get("firstName"),
+                        user.get("lastName"),
+                        user.get("patronymic"),
+                        user.get("email")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(user.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String prefixPattern(String prefix) {
+        return prefix.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
@@ -0,0 +1,13 @@
+package com.api.springsecurityauthcors.repo.user;
+
+import com.api.springsecurityauthcors.domain.DTO.user.UserResponseDTO;
+
+/**
+ * Projection row of a user listing: the response fields plus the id used as the keyset cursor.
+ */
+public record UserResponseRow(Long id, String firstName, String lastName, String patronymic, String email) {
+
+    public UserResponseDTO toDto() {
+        return new UserResponseDTO(firstName, lastName, patronymic, email);
+    }
+}
@@ -1,42 +1,67 @@
 package com.api.springsecurityauthcors.security;
 
-import com.api.springsecurityauthcors.domain.mapper.user.UserResponseMapper;
 import com.api.springsecurityauthcors.repo.user.UserRepo;
 import lombok.RequiredArgsConstructor;
-import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.CachingUserDetailsService;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
     private final UserRepo userRepo;
+    private final PasswordHashingProperties passwordHashingProperties;
+    @Value("${auth.user-cache.max-size:10000}")
+    private int userCacheMaxSize;
+    @Value("${auth.user-cache.ttl:5m}")
+    private Duration userCacheTtl;
+
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepo.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Пользователь не найден."));
+        CachingUserDetailsService userDetailsService = new CachingUserDetailsService(userRepoDetailsService());
+        userDetailsService.setUserCache(userCache());
+        return userDetailsService;
+    }
+
+    @Bean
+    public BoundedUserCache userCache() {
+        return new BoundedUserCache(userCacheMaxSize, userCacheTtl);
     }
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService());
+        authProvider.setUserDetailsService(userRepoDetailsService());
+        authProvider.setUserCache(userCache());
+        authProvider.setHideUserNotFoundExceptions(false);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(passwordUpgradeService());
         return authProvider;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return PasswordEncoders.create(passwordHashingProperties);
+    }
+
+    @Bean
+    public PasswordUpgradeService passwordUpgradeService() {
+        return new PasswordUpgradeService(userRepo, userCache());
     }
 
     @Bean
@@ -44,8 +69,8 @@ public class ApplicationConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
-    @Bean
-    public UserResponseMapper userResponseMapper() {
-        return Mappers.getMapper(UserResponseMapper.class);
+    private UserDetailsService userRepoDetailsService() {
+        return username -> userRepo.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("Пользователь не найден."));
     }
 }
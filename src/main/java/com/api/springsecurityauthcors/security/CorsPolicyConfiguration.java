@@ -0,0 +1,54 @@
+package com.api.springsecurityauthcors.security;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
+
+import java.util.List;
+
+/**
+ * CORS policy built once at startup from {@link CorsProperties}.
+ * Preflight requests are answered by a servlet filter ahead of the security chain,
+ * so they never reach the JWT filter.
+ */
+@Configuration
+@EnableConfigurationProperties(CorsProperties.class)
+public class CorsPolicyConfiguration {
+
+    @Bean
+    public CorsConfiguration corsPolicy(CorsProperties properties) {
+        var corsConfiguration = new CorsConfiguration();
+        corsConfiguration.setAllowedOrigins(List.copyOf(properties.getAllowedOrigins()));
+        corsConfiguration.setAllowedOriginPatterns(List.copyOf(properties.getAllowedOriginPatterns()));
+        corsConfiguration.setAllowedMethods(List.copyOf(properties.getAllowedMethods()));
+        corsConfiguration.setAllowedHeaders(List.copyOf(properties.getAllowedHeaders()));
+        corsConfiguration.setExposedHeaders(List.copyOf(properties.getExposedHeaders()));
+        corsConfiguration.setAllowCredentials(properties.isAllowCredentials());
+        corsConfiguration.setMaxAge(properties.getMaxAge());
+        corsConfiguration.validateAllowCredentials();
+        return corsConfiguration;
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public CorsConfigurationSource corsConfigurationSource(CorsConfiguration corsPolicy) {
+        var source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsPolicy);
+        return source;
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public FilterRegistrationBean<CorsFilter> preflightCorsFilter(CorsConfigurationSource corsConfigurationSource) {
+        var registration = new FilterRegistrationBean<>(new CorsFilter(corsConfigurationSource));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
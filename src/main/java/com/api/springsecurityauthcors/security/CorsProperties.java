@@ -0,0 +1,30 @@
+package com.api.springsecurityauthcors.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "cors")
+public class CorsProperties {
+    /**
+     * Exact origins, e.g. https://app.example.com.
+     */
+    private List<String> allowedOrigins = new ArrayList<>();
+    /**
+     * Origin patterns, e.g. https://*.example.com. Avoid "*": with credentials allowed it lets any site
+     * make authenticated calls.
+     */
+    private List<String> allowedOriginPatterns = new ArrayList<>();
+    private List<String> allowedMethods = new ArrayList<>(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+    private List<String> allowedHeaders = new ArrayList<>(List.of("*"));
+    private List<String> exposedHeaders = new ArrayList<>();
+    private boolean allowCredentials = true;
+    /**
+     * How long browsers may cache a preflight response.
+     */
+    private Duration maxAge = Duration.ofHours(1);
+}
@@ -0,0 +1,272 @@
+package com.api.springsecurityauthcors.security;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * HS256 access tokens with the {@link JwtService} claim set, written straight into reusable
+ * buffers. The output is byte for byte what the jjwt builder produces for the same claims:
+ * header {@code {"alg":"HS256"}} and claims in the order uid, role, sub, jti, iat, exp, serialized
+ * like Jackson does.
+ * <p>
+ * Buffers and initialized {@link Mac} instances live in a small lock-free pool instead of a
+ * ThreadLocal, which would keep one set per virtual thread.
+ */
+class Hs256TokenMinter {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ESCAPE_HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEADER = "eyJhbGciOiJIUzI1NiJ9.".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] UID = ascii("{\"uid\":");
+    private static final byte[] ROLE = ascii(",\"role\":\"");
+    private static final byte[] SUB = ascii("\",\"sub\":\"");
+    private static final byte[] JTI = ascii("\",\"jti\":\"");
+    private static final byte[] IAT = ascii("\",\"iat\":");
+    private static final byte[] EXP = ascii(",\"exp\":");
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final int UUID_LENGTH = 36;
+    private static final int MAX_LONG_LENGTH = 20;
+    // Everything but role and sub: the literals, the closing brace, the jti and three longs at their longest.
+    private static final int FIXED_CLAIMS_LENGTH = UID.length + ROLE.length + SUB.length + JTI.length + IAT.length
+            + EXP.length + 1 + UUID_LENGTH + 3 * MAX_LONG_LENGTH;
+
+    private final Mac prototype;
+    private final AtomicReferenceArray<Scratch> pool;
+
+    Hs256TokenMinter(Key key) {
+        try {
+            prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(key);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        pool = new AtomicReferenceArray<>(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1);
+    }
+
+    String mint(long userId, String role, String subject, UUID jti, long issuedAtSeconds, long expirationSeconds) {
+        Scratch scratch = acquire();
+        try {
+            return scratch.mint(userId, role, subject, jti, issuedAtSeconds, expirationSeconds);
+        } finally {
+            release(scratch);
+        }
+    }
+
+    private Scratch acquire() {
+        int mask = pool.length() - 1;
+        int start = ThreadLocalRandom.current().nextInt();
+        for (int i = 0; i <= mask; i++) {
+            Scratch scratch = pool.getAndSet((start + i) & mask, null);
+            if (scratch != null) {
+                return scratch;
+            }
+        }
+        return new Scratch(newMac());
+    }
+
+    private void release(Scratch scratch) {
+        int mask = pool.length() - 1;
+        int start = ThreadLocalRandom.current().nextInt();
+        for (int i = 0; i <= mask; i++) {
+            if (pool.compareAndSet((start + i) & mask, null, scratch)) {
+                return;
+            }
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Scratch {
+        private final Mac mac;
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private byte[] claims = new byte[256];
+        private byte[] token = new byte[512];
+        private int position;
+
+        Scratch(Mac mac) {
+            this.mac = mac;
+        }
+
+        String mint(long userId, String role, String subject, UUID jti, long issuedAtSeconds, long expirationSeconds) {
+            // 6 bytes per char covers the longest escape (backslash-u plus four hex digits).
+            ensureClaimsCapacity(FIXED_CLAIMS_LENGTH + role.length() + subject.length() * 6);
+            position = 0;
+            write(UID);
+            writeLong(userId);
+            write(ROLE);
+            writeAscii(role);
+            write(SUB);
+            writeJsonString(subject);
+            write(JTI);
+            writeUuid(jti);
+            write(IAT);
+            writeLong(issuedAtSeconds);
+            write(EXP);
+            writeLong(expirationSeconds);
+            claims[position++] = '}';
+
+            int length = HEADER.length + (position + 2) / 3 * 4 + 1 + (SIGNATURE_LENGTH + 2) / 3 * 4;
+            if (token.length < length) {
+                token = new byte[length];
+            }
+            System.arraycopy(HEADER, 0, token, 0, HEADER.length);
+            int end = encodeBase64Url(claims, position, token, HEADER.length);
+            mac.update(token, 0, end);
+            try {
+                mac.doFinal(signature, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+            token[end++] = '.';
+            end = encodeBase64Url(signature, SIGNATURE_LENGTH, token, end);
+            return new String(token, 0, end, StandardCharsets.ISO_8859_1);
+        }
+
+        private void ensureClaimsCapacity(int capacity) {
+            if (claims.length < capacity) {
+                claims = new byte[capacity];
+            }
+        }
+
+        private void write(byte[] bytes) {
+            System.arraycopy(bytes, 0, claims, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeAscii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                claims[position++] = (byte) value.charAt(i);
+            }
+        }
+
+        private void writeLong(long value) {
+            if (value == Long.MIN_VALUE) {
+                writeAscii(Long.toString(value));
+                return;
+            }
+            if (value < 0) {
+                claims[position++] = '-';
+                value = -value;
+            }
+            int digits = 1;
+            for (long rest = value / 10; rest != 0; rest /= 10) {
+                digits++;
+            }
+            for (int i = position + digits - 1; i >= position; i--) {
+                claims[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position += digits;
+        }
+
+        private void writeUuid(UUID uuid) {
+            writeHex(uuid.getMostSignificantBits() >>> 32, 8);
+            claims[position++] = '-';
+            writeHex(uuid.getMostSignificantBits() >>> 16, 4);
+            claims[position++] = '-';
+            writeHex(uuid.getMostSignificantBits(), 4);
+            claims[position++] = '-';
+            writeHex(uuid.getLeastSignificantBits() >>> 48, 4);
+            claims[position++] = '-';
+            writeHex(uuid.getLeastSignificantBits(), 12);
+        }
+
+        private void writeHex(long value, int digits) {
+            for (int i = digits - 1; i >= 0; i--) {
+                claims[position++] = HEX[(int) (value >>> (i * 4)) & 0xF];
+            }
+        }
+
+        /**
+         * The escaping jjwt's Jackson serializer applies: quote, backslash, control characters and
+         * surrogates (so characters outside the BMP end up as an escaped pair); everything else as UTF-8.
+         */
+        private void writeJsonString(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    claims[position++] = '\\';
+                    claims[position++] = (byte) c;
+                } else if (c < 0x20) {
+                    writeControl(c);
+                } else if (c < 0x80) {
+                    claims[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    claims[position++] = (byte) (0xC0 | c >> 6);
+                    claims[position++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    writeUnicodeEscape(c);
+                } else {
+                    claims[position++] = (byte) (0xE0 | c >> 12);
+                    claims[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    claims[position++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+        }
+
+        private void writeControl(char c) {
+            byte shortEscape = switch (c) {
+                case '\b' -> 'b';
+                case '\t' -> 't';
+                case '\n' -> 'n';
+                case '\f' -> 'f';
+                case '\r' -> 'r';
+                default -> 0;
+            };
+            if (shortEscape == 0) {
+                writeUnicodeEscape(c);
+            } else {
+                claims[position++] = '\\';
+                claims[position++] = shortEscape;
+            }
+        }
+
+        private void writeUnicodeEscape(char c) {
+            claims[position++] = '\\';
+            claims[position++] = 'u';
+            for (int shift = 12; shift >= 0; shift -= 4) {
+                claims[position++] = ESCAPE_HEX[c >> shift & 0xF];
+            }
+        }
+
+        private static int encodeBase64Url(byte[] source, int length, byte[] target, int offset) {
+            int i = 0;
+            for (; i + 3 <= length; i += 3) {
+                int bits = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8 | source[i + 2] & 0xFF;
+                target[offset++] = BASE64URL[bits >>> 18];
+                target[offset++] = BASE64URL[bits >>> 12 & 0x3F];
+                target[offset++] = BASE64URL[bits >>> 6 & 0x3F];
+                target[offset++] = BASE64URL[bits & 0x3F];
+            }
+            int remaining = length - i;
+            if (remaining == 1) {
+                int bits = (source[i] & 0xFF) << 16;
+                target[offset++] = BASE64URL[bits >>> 18];
+                target[offset++] = BASE64URL[bits >>> 12 & 0x3F];
+            } else if (remaining == 2) {
+                int bits = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8;
+                target[offset++] = BASE64URL[bits >>> 18];
+                target[offset++] = BASE64URL[bits >>> 12 & 0x3F];
+                target[offset++] = BASE64URL[bits >>> 6 & 0x3F];
+            }
+            return offset;
+        }
+    }
+}
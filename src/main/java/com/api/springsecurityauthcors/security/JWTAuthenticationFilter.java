@@ -1,26 +1,45 @@
 package com.api.springsecurityauthcors.security;
 
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 
 @Component
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final AuthMetrics authMetrics;
+    private final RevocationSet revocationSet;
+    private final PublicRoutes publicRoutes;
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return publicRoutes.matches(request);
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -29,28 +48,58 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
+        final Claims claims;
         final String userEmail;
         if(authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request,response);
             return;
         }
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUserName(jwt);
+        claims = jwtService.extractAllClaims(jwt);
+        userEmail = claims.getSubject();
+        if(revocationSet.isRevoked(claims.getId())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
         if(userEmail!=null && SecurityContextHolder.getContext().getAuthentication()==null){
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if(jwtService.isTokenValid(jwt,userDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource()
-                        .buildDetails(request)
-                );
-
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            if(stateless && jwtService.hasPrincipalClaims(claims)) {
+                JwtPrincipal principal = jwtService.extractPrincipal(claims);
+                authenticate(request, principal, principal.getAuthorities());
+                filterChain.doFilter(request, response);
+                return;
+            }
+            UserDetails userDetails = loadUser(userEmail);
+            if(jwtService.isTokenValid(claims,userDetails)) {
+                authenticate(request, userDetails, userDetails.getAuthorities());
                 filterChain.doFilter(request, response);
             }
         }
     }
+
+    private UserDetails loadUser(String userEmail) {
+        Timer.Sample sample = authMetrics.start();
+        try {
+            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            authMetrics.stage(sample, AuthMetrics.STAGE_USER_LOOKUP, AuthMetrics.OK);
+            return userDetails;
+        } catch (UsernameNotFoundException e) {
+            authMetrics.stage(sample, AuthMetrics.STAGE_USER_LOOKUP, AuthMetrics.USER_NOT_FOUND);
+            throw e;
+        }
+    }
+
+    private void authenticate(HttpServletRequest request,
+                              Object principal,
+                              Collection<? extends GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                authorities
+        );
+        authenticationToken.setDetails(new WebAuthenticationDetailsSource()
+                .buildDetails(request)
+        );
+
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+    }
 }
@@ -0,0 +1,17 @@
+package com.api.springsecurityauthcors.security;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+@Configuration
+@EnableConfigurationProperties(JwtSigningProperties.class)
+@ImportRuntimeHints(JwtRuntimeHints.class)
+public class JwtKeyConfiguration {
+
+    @Bean
+    public JwtKeyRing jwtKeyRing(JwtSigningProperties properties) {
+        return JwtKeyRing.from(properties);
+    }
+}
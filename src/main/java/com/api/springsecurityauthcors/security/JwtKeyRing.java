@@ -0,0 +1,197 @@
+package com.api.springsecurityauthcors.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Signing key and verification keys of access tokens. Verification keys are looked up by the
+ * {@code kid} header, so several keys can be active at once during a rotation.
+ */
+@Slf4j
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+    private final SignatureAlgorithm algorithm;
+    private final String activeKeyId;
+    private final Key signingKey;
+    private final Map<String, Key> verificationKeys;
+    private final Key legacyHmacKey;
+    private final List<Map<String, Object>> jwks;
+
+    private JwtKeyRing(SignatureAlgorithm algorithm,
+                       String activeKeyId,
+                       Key signingKey,
+                       Map<String, Key> verificationKeys,
+                       Key legacyHmacKey,
+                       List<Map<String, Object>> jwks) {
+        this.algorithm = algorithm;
+        this.activeKeyId = activeKeyId;
+        this.signingKey = signingKey;
+        this.verificationKeys = Map.copyOf(verificationKeys);
+        this.legacyHmacKey = legacyHmacKey;
+        this.jwks = Collections.unmodifiableList(jwks);
+    }
+
+    /**
+     * HS256 with a shared secret; tokens carry no {@code kid} and nothing is published in the JWKS.
+     */
+    public static JwtKeyRing hmac(String base64Secret) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        return new JwtKeyRing(SignatureAlgorithm.HS256, null, key, Map.of(), key, List.of());
+    }
+
+    public static JwtKeyRing from(JwtSigningProperties properties) {
+        SignatureAlgorithm algorithm = properties.getAlgorithm();
+        if (algorithm.isHmac()) {
+            return hmac(properties.getSecret());
+        }
+        Key legacyHmacKey = properties.isAcceptLegacyHs256()
+                ? Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.getSecret()))
+                : null;
+
+        Map<String, Key> verificationKeys = new LinkedHashMap<>();
+        Map<String, PrivateKey> privateKeys = new LinkedHashMap<>();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        if (properties.getKeys().isEmpty()) {
+            String kid = UUID.randomUUID().toString();
+            KeyPair keyPair = Keys.keyPairFor(algorithm);
+            log.warn("No jwt.signing.keys configured, signing with ephemeral {} key {}. " +
+                    "Tokens will not verify after a restart or on other instances.", algorithm, kid);
+            verificationKeys.put(kid, keyPair.getPublic());
+            privateKeys.put(kid, keyPair.getPrivate());
+            jwks.add(toJwk(kid, algorithm, keyPair.getPublic()));
+        }
+        for (JwtSigningProperties.KeyDefinition definition : properties.getKeys()) {
+            PublicKey publicKey = readPublicKey(definition.getPublicKey(), algorithm);
+            verificationKeys.put(definition.getId(), publicKey);
+            jwks.add(toJwk(definition.getId(), algorithm, publicKey));
+            if (definition.getPrivateKey() != null) {
+                privateKeys.put(definition.getId(), readPrivateKey(definition.getPrivateKey(), algorithm));
+            }
+        }
+
+        String activeKeyId = properties.getActiveKeyId() != null
+                ? properties.getActiveKeyId()
+                : privateKeys.keySet().stream().findFirst()
+                        .orElseThrow(() -> new IllegalStateException("No jwt.signing.keys entry has a private key."));
+        PrivateKey signingKey = privateKeys.get(activeKeyId);
+        if (signingKey == null) {
+            throw new IllegalStateException(String.format("No private key configured for active kid %s.", activeKeyId));
+        }
+        return new JwtKeyRing(algorithm, activeKeyId, signingKey, verificationKeys, legacyHmacKey, jwks);
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    public List<Map<String, Object>> getJwks() {
+        return jwks;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        Key key = kid == null ? legacyHmacKey : verificationKeys.get(kid);
+        if (key == null) {
+            throw new SignatureException(String.format("Неизвестный ключ подписи: %s", kid));
+        }
+        return key;
+    }
+
+    private static Map<String, Object> toJwk(String kid, SignatureAlgorithm algorithm, PublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm.getValue());
+        if (publicKey instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsa.getModulus(), 0));
+            jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+        } else if (publicKey instanceof ECPublicKey ec) {
+            int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-" + ec.getParams().getCurve().getField().getFieldSize());
+            jwk.put("x", base64Url(ec.getW().getAffineX(), size));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), size));
+        } else {
+            throw new IllegalStateException("Unsupported public key type " + publicKey.getAlgorithm());
+        }
+        return jwk;
+    }
+
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        int start = bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+        int size = bytes.length - start;
+        byte[] unsigned = new byte[Math.max(size, length)];
+        System.arraycopy(bytes, start, unsigned, unsigned.length - size, size);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(unsigned);
+    }
+
+    private static PublicKey readPublicKey(Resource resource, SignatureAlgorithm algorithm) {
+        try {
+            return keyFactory(algorithm).generatePublic(new X509EncodedKeySpec(readPem(resource)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid public key " + resource, e);
+        }
+    }
+
+    private static PrivateKey readPrivateKey(Resource resource, SignatureAlgorithm algorithm) {
+        try {
+            return keyFactory(algorithm).generatePrivate(new PKCS8EncodedKeySpec(readPem(resource)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid private key " + resource, e);
+        }
+    }
+
+    private static KeyFactory keyFactory(SignatureAlgorithm algorithm) throws GeneralSecurityException {
+        return KeyFactory.getInstance(algorithm.isEllipticCurve() ? "EC" : "RSA");
+    }
+
+    private static byte[] readPem(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            String pem = new String(in.readAllBytes(), StandardCharsets.US_ASCII)
+                    .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                    .replaceAll("\\s", "");
+            return Base64.getDecoder().decode(pem);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read key " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.api.springsecurityauthcors.security;
+
+import com.api.springsecurityauthcors.domain.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal built from verified token claims when the filter runs in stateless mode.
+ */
+public record JwtPrincipal(Long id, String email, Role role) implements Principal {
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
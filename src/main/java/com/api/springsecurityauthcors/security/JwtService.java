@@ -1,25 +1,54 @@
 package com.api.springsecurityauthcors.security;
 
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
+    private static final long ACCESS_TOKEN_TTL_MILLIS = 1000*10*120;
+
+    private final JwtKeyRing keyRing;
+    private final JwtParser jwtParser;
+    private final VerifiedClaimsCache claimsCache;
+    private final AuthMetrics authMetrics;
+    private final Hs256TokenMinter hs256Minter;
+
+    public JwtService(@Value("${jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize,
+                      AuthMetrics authMetrics,
+                      JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.jwtParser = Jwts.parserBuilder().setSigningKeyResolver(keyRing).build();
+        this.claimsCache = new VerifiedClaimsCache(claimsCacheMaxSize);
+        this.authMetrics = authMetrics;
+        this.hs256Minter = keyRing.getAlgorithm() == SignatureAlgorithm.HS256 && keyRing.getActiveKeyId() == null
+                ? new Hs256TokenMinter(keyRing.getSigningKey())
+                : null;
+    }
 
-    private final static String SECRET_KEY = "Hvy0sXzEQIZ9AYZIlWPnNSZHgjNzwjG8xSGxWkcjR5xZmZphVK0BMzUTrkx6puM6+WbD3HFa5BQhSn8T1Q2R2SjBB8iw+zxZoc4VgoVb+OghErL7FscTQCLQxq1gUbaVk9oTC3dXZY0HpvWbyF7q9D976Ns14fD56NJyj1O+SvTwSWnOHGesbPS/KEgLf10XziJLrfF0aAlCLn0NMRdXMPFQzykGZO994xzaf4nbGPp5YPb52RQ4drzru41up46l8QS7WvQbkTpf+u4aQPyY0OoSTdouDfzuf7a932fKXZKWkWEDROlb7rCptZNEpM6xePGUda6ETexOxNj49cy2mQ+zOtkte6MN1Y4IPq6LzZc=";
     public String extractUserName(String token){
-        return extractClaim(token, Claims::getSubject);
+        return extractAllClaims(token).getSubject();
     }
 
     public <T> T extractClaim(String token, Function<Claims,T> claimResolver) {
@@ -31,43 +60,89 @@ public class JwtService {
         return generateToken(new HashMap<>(), userName);
     }
 
+    public String generateToken(UserEntity user) {
+        if (hs256Minter != null && user.getId() != null) {
+            Timer.Sample sample = authMetrics.start();
+            long now = System.currentTimeMillis();
+            String token = hs256Minter.mint(user.getId(), user.getRole().name(), user.getEmail(), UUID.randomUUID(),
+                    now / 1000, (now + ACCESS_TOKEN_TTL_MILLIS) / 1000);
+            authMetrics.stage(sample, AuthMetrics.STAGE_JWT_MINT, AuthMetrics.OK);
+            return token;
+        }
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(USER_ID_CLAIM, user.getId());
+        return generateToken(claims, user.getEmail());
+    }
+
 
     public String generateToken(
             Map<String, Object> extraClaims,
             String userName) {
-        return Jwts.builder()
+        Timer.Sample sample = authMetrics.start();
+        JwtBuilder builder = Jwts.builder();
+        if (keyRing.getActiveKeyId() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKeyId());
+        }
+        String token = builder
                 .setClaims(extraClaims)
                 .setSubject(userName)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000*10*120))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_TTL_MILLIS))
+                .signWith(keyRing.getSigningKey(), keyRing.getAlgorithm())
                 .compact();
+        authMetrics.stage(sample, AuthMetrics.STAGE_JWT_MINT, AuthMetrics.OK);
+        return token;
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String userName = claims.getSubject();
+        return (userName.equals(userDetails.getUsername())) && !isTokenExpired(claims);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean hasPrincipalClaims(Claims claims) {
+        return claims.get(ROLE_CLAIM) != null && claims.get(USER_ID_CLAIM) != null;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public JwtPrincipal extractPrincipal(Claims claims) {
+        return new JwtPrincipal(
+                claims.get(USER_ID_CLAIM, Long.class),
+                claims.getSubject(),
+                Role.valueOf(claims.get(ROLE_CLAIM, String.class))
+        );
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().getTime() <= System.currentTimeMillis();
+    }
+
+    public Claims extractAllClaims(String token) {
+        Timer.Sample sample = authMetrics.start();
+        String outcome = AuthMetrics.OK;
+        try {
+            return claimsCache.getOrVerify(token, this::parseClaims);
+        } catch (ExpiredJwtException e) {
+            outcome = AuthMetrics.EXPIRED;
+            throw e;
+        } catch (SecurityException e) {
+            outcome = AuthMetrics.BAD_SIGNATURE;
+            throw e;
+        } catch (JwtException | IllegalArgumentException e) {
+            outcome = AuthMetrics.MALFORMED;
+            throw e;
+        } finally {
+            authMetrics.stage(sample, AuthMetrics.STAGE_JWT_PARSE, outcome);
+        }
+    }
+
+    private Claims parseClaims(String token) {
+        return jwtParser
+                .parseClaimsJws(token)
+                .getBody();
     }
 }
@@ -0,0 +1,50 @@
+package com.api.springsecurityauthcors.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "jwt.signing")
+public class JwtSigningProperties {
+    /**
+     * HS256 (shared secret) or an asymmetric algorithm such as RS256 or ES256.
+     */
+    private SignatureAlgorithm algorithm = SignatureAlgorithm.HS256;
+    /**
+     * Base64 HMAC secret, used for HS256 and for legacy tokens when {@link #acceptLegacyHs256} is set.
+     */
+    private String secret = "Hvy0sXzEQIZ9AYZIlWPnNSZHgjNzwjG8xSGxWkcjR5xZmZphVK0BMzUTrkx6puM6+WbD3HFa5BQhSn8T1Q2R2SjBB8iw+zxZoc4VgoVb+OghErL7FscTQCLQxq1gUbaVk9oTC3dXZY0HpvWbyF7q9D976Ns14fD56NJyj1O+SvTwSWnOHGesbPS/KEgLf10XziJLrfF0aAlCLn0NMRdXMPFQzykGZO994xzaf4nbGPp5YPb52RQ4drzru41up46l8QS7WvQbkTpf+u4aQPyY0OoSTdouDfzuf7a932fKXZKWkWEDROlb7rCptZNEpM6xePGUda6ETexOxNj49cy2mQ+zOtkte6MN1Y4IPq6LzZc=";
+    /**
+     * Keep accepting HS256 tokens without a kid header while migrating to an asymmetric algorithm.
+     */
+    private boolean acceptLegacyHs256 = false;
+    /**
+     * kid of the key that signs new tokens; defaults to the first key that has a private key.
+     */
+    private String activeKeyId;
+    /**
+     * Verification keys published in the JWKS. Keys without a private key only verify, which
+     * keeps tokens signed by a retired key valid until they expire.
+     */
+    private List<KeyDefinition> keys = new ArrayList<>();
+    private Duration jwksMaxAge = Duration.ofHours(1);
+
+    @Data
+    public static class KeyDefinition {
+        private String id;
+        /**
+         * PEM encoded X.509 public key.
+         */
+        private Resource publicKey;
+        /**
+         * PEM encoded PKCS#8 private key.
+         */
+        private Resource privateKey;
+    }
+}
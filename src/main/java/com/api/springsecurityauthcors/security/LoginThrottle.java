@@ -0,0 +1,146 @@
+package com.api.springsecurityauthcors.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory login throttle applied before any password verification.
+ * Attempts are limited per account (email) and per client address with lock-free token buckets.
+ */
+@Component
+public class LoginThrottle implements MeterBinder {
+    private final boolean enabled;
+    private final KeyedRateLimiter accountLimiter;
+    private final KeyedRateLimiter addressLimiter;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejectedByAccount = new LongAdder();
+    private final LongAdder rejectedByAddress = new LongAdder();
+
+    public LoginThrottle(@Value("${auth.login-throttle.enabled:true}") boolean enabled,
+                         @Value("${auth.login-throttle.max-keys:100000}") int maxKeys,
+                         @Value("${auth.login-throttle.account.attempts-per-minute:10}") int accountAttemptsPerMinute,
+                         @Value("${auth.login-throttle.account.burst:5}") int accountBurst,
+                         @Value("${auth.login-throttle.address.attempts-per-minute:60}") int addressAttemptsPerMinute,
+                         @Value("${auth.login-throttle.address.burst:20}") int addressBurst) {
+        this.enabled = enabled;
+        this.accountLimiter = new KeyedRateLimiter(maxKeys, accountAttemptsPerMinute, accountBurst);
+        this.addressLimiter = new KeyedRateLimiter(maxKeys, addressAttemptsPerMinute, addressBurst);
+    }
+
+    public boolean tryAcquire(String email, String clientAddress) {
+        if (!enabled) {
+            return true;
+        }
+        final long now = System.nanoTime();
+        if (!addressLimiter.tryAcquire(clientAddress == null ? "" : clientAddress, now)) {
+            rejectedByAddress.increment();
+            return false;
+        }
+        if (!accountLimiter.tryAcquire(email == null ? "" : email.trim().toLowerCase(Locale.ROOT), now)) {
+            rejectedByAccount.increment();
+            return false;
+        }
+        admitted.increment();
+        return true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.login.throttle.attempts", admitted, LongAdder::sum)
+                .tag("outcome", "admitted")
+                .register(registry);
+        FunctionCounter.builder("auth.login.throttle.attempts", rejectedByAccount, LongAdder::sum)
+                .tag("outcome", "rejected_account")
+                .register(registry);
+        FunctionCounter.builder("auth.login.throttle.attempts", rejectedByAddress, LongAdder::sum)
+                .tag("outcome", "rejected_address")
+                .register(registry);
+        Gauge.builder("auth.login.throttle.keys", this, t -> t.accountLimiter.size() + t.addressLimiter.size())
+                .register(registry);
+    }
+
+    /**
+     * Token buckets implemented with GCRA: each key holds one theoretical arrival time updated by CAS.
+     * A bucket whose arrival time is in the past is full and can be dropped without losing state.
+     * <p>
+     * When the table is full, expired buckets are swept by one thread at most once per emission interval,
+     * so a flood of new keys costs one scan per interval rather than one per key. Keys that still do not fit
+     * share one of {@value #OVERFLOW_SHARDS} overflow buckets picked by hash.
+     */
+    static class KeyedRateLimiter {
+        static final int OVERFLOW_SHARDS = 64;
+
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong[] overflow = new AtomicLong[OVERFLOW_SHARDS];
+        private final AtomicLong nextSweep;
+        private final int maxKeys;
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+
+        KeyedRateLimiter(int maxKeys, int attemptsPerMinute, int burst) {
+            this.maxKeys = maxKeys;
+            this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(attemptsPerMinute, 1);
+            this.burstToleranceNanos = emissionIntervalNanos * Math.max(burst - 1, 0);
+            final long now = System.nanoTime();
+            for (int i = 0; i < OVERFLOW_SHARDS; i++) {
+                overflow[i] = new AtomicLong(now);
+            }
+            this.nextSweep = new AtomicLong(now);
+        }
+
+        boolean tryAcquire(String key, long now) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = newBucket(key, now);
+            }
+            while (true) {
+                final long theoreticalArrival = bucket.get();
+                final long start = theoreticalArrival - now < 0 ? now : theoreticalArrival;
+                if (start - now > burstToleranceNanos) {
+                    return false;
+                }
+                if (bucket.compareAndSet(theoreticalArrival, start + emissionIntervalNanos)) {
+                    return true;
+                }
+            }
+        }
+
+        int size() {
+            return buckets.size();
+        }
+
+        static int overflowShard(String key) {
+            final int h = key.hashCode();
+            return (h ^ h >>> 16) & (OVERFLOW_SHARDS - 1);
+        }
+
+        private AtomicLong newBucket(String key, long now) {
+            if (buckets.size() >= maxKeys) {
+                sweep(now);
+                if (buckets.size() >= maxKeys) {
+                    // Table is full of active keys: share a bucket rather than grow without bound.
+                    return overflow[overflowShard(key)];
+                }
+            }
+            return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        private void sweep(long now) {
+            final long due = nextSweep.get();
+            if (now - due < 0 || !nextSweep.compareAndSet(due, now + emissionIntervalNanos)) {
+                return;
+            }
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+    }
+}
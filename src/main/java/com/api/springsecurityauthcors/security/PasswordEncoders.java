@@ -0,0 +1,97 @@
+package com.api.springsecurityauthcors.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Builds the password encoder from {@link PasswordHashingProperties}: new hashes are written as
+ * {@code {bcrypt}...} or {@code {argon2}...}, and hashes made with another algorithm, lower parameters or
+ * without the prefix (plain BCrypt, as stored before) still match but report
+ * {@link PasswordEncoder#upgradeEncoding}, so the next login replaces them.
+ */
+@Slf4j
+public final class PasswordEncoders {
+    static final String BCRYPT = "bcrypt";
+    static final String ARGON2 = "argon2";
+    private static final int BCRYPT_MAX_STRENGTH = 31;
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int CALIBRATION_SAMPLES = 2;
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder create(PasswordHashingProperties properties) {
+        PasswordHashingProperties.Argon2 argon2 = properties.getArgon2();
+        boolean argon2Active = properties.getAlgorithm() == PasswordHashingProperties.Algorithm.ARGON2;
+        int strength = properties.getBcrypt().getStrength();
+        int iterations = argon2.getIterations();
+        if (properties.isCalibrate()) {
+            long targetNanos = properties.getTargetLatency().toNanos();
+            if (argon2Active) {
+                iterations = argon2IterationsFor(iterations, targetNanos, i -> bestHashNanos(argon2(argon2, i)));
+            } else {
+                strength = bcryptStrengthFor(strength, targetNanos, s -> bestHashNanos(new BCryptPasswordEncoder(s)));
+            }
+        }
+
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT, new BCryptPasswordEncoder(strength),
+                ARGON2, argon2(argon2, iterations));
+        String idForEncode = argon2Active ? ARGON2 : BCRYPT;
+        if (properties.isCalibrate()) {
+            log.info("Password hashing calibrated for {} ms per hash: {} {}", properties.getTargetLatency().toMillis(),
+                    idForEncode, argon2Active ? "iterations " + iterations : "strength " + strength);
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+        return encoder;
+    }
+
+    /**
+     * Highest BCrypt strength whose hash takes at most {@code targetNanos}; each step doubles the work.
+     */
+    static int bcryptStrengthFor(int minStrength, long targetNanos, IntToLongFunction hashNanos) {
+        long nanos = hashNanos.applyAsLong(minStrength);
+        int strength = minStrength;
+        while (strength < BCRYPT_MAX_STRENGTH && nanos * 2 <= targetNanos) {
+            nanos *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    /**
+     * Argon2 passes needed for about {@code targetNanos}; the cost grows linearly with them.
+     */
+    static int argon2IterationsFor(int minIterations, long targetNanos, IntToLongFunction hashNanos) {
+        long nanos = Math.max(hashNanos.applyAsLong(minIterations), 1);
+        return (int) Math.max(minIterations, Math.min(Integer.MAX_VALUE, minIterations * targetNanos / nanos));
+    }
+
+    private static Argon2PasswordEncoder argon2(PasswordHashingProperties.Argon2 argon2, int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, argon2.getParallelism(),
+                (int) argon2.getMemory().toKilobytes(), iterations);
+    }
+
+    /**
+     * Fastest of a few hashes after a warm-up one, so JIT compilation and noise do not inflate the cost.
+     */
+    private static long bestHashNanos(PasswordEncoder encoder) {
+        encoder.encode(CALIBRATION_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
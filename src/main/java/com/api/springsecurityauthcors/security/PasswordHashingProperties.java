@@ -0,0 +1,48 @@
+package com.api.springsecurityauthcors.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "auth.password")
+public class PasswordHashingProperties {
+    /**
+     * Algorithm of new hashes. Hashes of the other one still verify and are replaced on the next login.
+     */
+    private Algorithm algorithm = Algorithm.BCRYPT;
+    /**
+     * Raise the work factor at startup until one hash takes about {@link #targetLatency} on this machine.
+     * Off by default: a higher cost is paid by every login, registration and imported row. Without it the
+     * configured minimums are used as they are.
+     */
+    private boolean calibrate = false;
+    private Duration targetLatency = Duration.ofMillis(250);
+    private Bcrypt bcrypt = new Bcrypt();
+    private Argon2 argon2 = new Argon2();
+
+    public enum Algorithm {
+        BCRYPT,
+        ARGON2
+    }
+
+    @Data
+    public static class Bcrypt {
+        /**
+         * Minimum log2 cost; calibration never goes below it.
+         */
+        private int strength = 10;
+    }
+
+    @Data
+    public static class Argon2 {
+        private DataSize memory = DataSize.ofKilobytes(19 * 1024);
+        /**
+         * Minimum number of passes; calibration raises it.
+         */
+        private int iterations = 2;
+        private int parallelism = 1;
+    }
+}
@@ -0,0 +1,47 @@
+package com.api.springsecurityauthcors.security;
+
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.repo.user.UserRepo;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stores the new hash that {@link org.springframework.security.authentication.dao.DaoAuthenticationProvider}
+ * computes after a successful login with an outdated one, and evicts the user from the {@link UserCache}
+ * so the old hash is not matched (and upgraded) again. A password changed since the login was verified is kept.
+ */
+public class PasswordUpgradeService implements UserDetailsPasswordService, MeterBinder {
+    private final UserRepo userRepo;
+    private final UserCache userCache;
+    private final LongAdder upgraded = new LongAdder();
+
+    public PasswordUpgradeService(UserRepo userRepo, UserCache userCache) {
+        this.userRepo = userRepo;
+        this.userCache = userCache;
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserEntity entity = userRepo.findByEmail(user.getUsername()).orElse(null);
+        if (entity == null || !entity.getPassword().equals(user.getPassword())) {
+            return user;
+        }
+        entity.setPassword(newPassword);
+        UserEntity saved = userRepo.save(entity);
+        userCache.removeUserFromCache(saved.getEmail());
+        upgraded.increment();
+        return saved;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.password.upgraded", upgraded, LongAdder::sum)
+                .register(registry);
+    }
+}
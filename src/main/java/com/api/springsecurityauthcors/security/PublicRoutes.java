@@ -0,0 +1,40 @@
+package com.api.springsecurityauthcors.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routes open to anonymous requests. The same matcher drives the {@code permitAll} rule
+ * and the JWT filter exclusion, so bearer tokens are never parsed on these routes.
+ */
+@Component
+public class PublicRoutes implements RequestMatcher {
+    private final List<String> paths;
+    private final RequestMatcher matcher;
+
+    public PublicRoutes(@Value("${auth.public-paths:/swagger-ui/**,/v3/api-docs/**,/api/auth/**,/.well-known/jwks.json,/actuator/health}")
+                        String[] paths) {
+        this.paths = Arrays.stream(paths)
+                .map(String::trim)
+                .toList();
+        this.matcher = new OrRequestMatcher(this.paths.stream()
+                .map(path -> (RequestMatcher) new AntPathRequestMatcher(path))
+                .toList());
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return matcher.matches(request);
+    }
+}
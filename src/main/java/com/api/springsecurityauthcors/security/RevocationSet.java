@@ -0,0 +1,125 @@
+package com.api.springsecurityauthcors.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ids ({@code jti}) of revoked access tokens, kept until the token expires.
+ * A Bloom filter answers the common "not revoked" case without touching the exact map,
+ * only filter hits are confirmed against it. Lookups are lock-free and allocation-free;
+ * writers are serialized because they are rare (one per logout).
+ */
+@Component
+public class RevocationSet implements MeterBinder {
+    private final ConcurrentHashMap<String, Long> expirations = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final int expectedRevocations;
+    private volatile BloomFilter filter;
+
+    public RevocationSet(@Value("${auth.revocation.expected-revocations:100000}") int expectedRevocations) {
+        this.expectedRevocations = Math.max(expectedRevocations, 1);
+        this.filter = new BloomFilter(this.expectedRevocations);
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && filter.mightContain(jti) && expirations.containsKey(jti);
+    }
+
+    public void add(String jti, long expiresAtMillis) {
+        writeLock.lock();
+        try {
+            expirations.put(jti, expiresAtMillis);
+            filter.put(jti);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Merges {@code persisted} revocations, drops expired ids and rebuilds the Bloom filter,
+     * which cannot forget entries on its own.
+     */
+    public void rebuild(Map<String, Long> persisted, long nowMillis) {
+        writeLock.lock();
+        try {
+            expirations.putAll(persisted);
+            expirations.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, expirations.size()));
+            expirations.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return expirations.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.revocation.size", this, RevocationSet::size)
+                .register(registry);
+    }
+
+    /**
+     * Bloom filter sized for a 1% false positive rate, probed with double hashing of a 64-bit FNV-1a hash.
+     */
+    static final class BloomFilter {
+        private static final int HASHES = 7;
+        private static final int BITS_PER_ENTRY = 10;
+
+        private final AtomicLongArray words;
+        private final int bits;
+
+        BloomFilter(int expectedEntries) {
+            long wordCount = Math.min(((long) expectedEntries * BITS_PER_ENTRY + 63) / 64, Integer.MAX_VALUE / 64);
+            this.words = new AtomicLongArray((int) wordCount);
+            this.bits = (int) wordCount * 64;
+        }
+
+        void put(String key) {
+            final long hash = hash(key);
+            final int h1 = (int) hash;
+            final int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                final int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+                final long mask = 1L << bit;
+                long word;
+                do {
+                    word = words.get(bit >>> 6);
+                } while ((word & mask) == 0 && !words.compareAndSet(bit >>> 6, word, word | mask));
+            }
+        }
+
+        boolean mightContain(String key) {
+            final long hash = hash(key);
+            final int h1 = (int) hash;
+            final int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                final int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash ^ (hash >>> 29);
+        }
+    }
+}
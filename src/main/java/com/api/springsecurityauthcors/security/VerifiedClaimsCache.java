@@ -0,0 +1,127 @@
+package com.api.springsecurityauthcors.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of already verified JWT claims.
+ * Entries are keyed by the SHA-256 digest of the compact token (the raw token is never kept)
+ * and are dropped as soon as the token expires.
+ */
+public class VerifiedClaimsCache {
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    /**
+     * Initialized digests are pooled the way {@link Hs256TokenMinter} pools its Macs: a lookup takes one
+     * instead of allocating a clone, and a ThreadLocal would keep one instance per virtual thread.
+     */
+    private static final AtomicReferenceArray<MessageDigest> DIGESTS =
+            new AtomicReferenceArray<>(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1);
+
+    private final ConcurrentHashMap<Digest, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    public VerifiedClaimsCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    VerifiedClaimsCache(int maxSize, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached claims of the token or verifies it with {@code verifier} and caches the result.
+     * Verification failures are propagated and never cached.
+     */
+    public Claims getOrVerify(String token, Function<String, Claims> verifier) {
+        if (maxSize <= 0) {
+            return verifier.apply(token);
+        }
+        final Digest digest = Digest.of(token);
+        final long now = clock.getAsLong();
+        final Entry cached = entries.get(digest);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return cached.claims;
+            }
+            entries.remove(digest, cached);
+        }
+        final Claims claims = verifier.apply(token);
+        final Date expiration = claims.getExpiration();
+        if (expiration != null && expiration.getTime() > now && hasRoom(now)) {
+            entries.put(digest, new Entry(claims, expiration.getTime()));
+        }
+        return claims;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean hasRoom(long now) {
+        if (entries.size() < maxSize) {
+            return true;
+        }
+        final long previousSweep = lastSweep.get();
+        if (now - previousSweep >= SWEEP_INTERVAL_MILLIS && lastSweep.compareAndSet(previousSweep, now)) {
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+        }
+        return entries.size() < maxSize;
+    }
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+
+    private record Digest(long a, long b, long c, long d) {
+        static Digest of(String token) {
+            final MessageDigest sha256 = acquire();
+            final ByteBuffer hash;
+            try {
+                hash = ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            } finally {
+                release(sha256);
+            }
+            return new Digest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+
+        private static MessageDigest acquire() {
+            int mask = DIGESTS.length() - 1;
+            int start = ThreadLocalRandom.current().nextInt();
+            for (int i = 0; i <= mask; i++) {
+                MessageDigest digest = DIGESTS.getAndSet((start + i) & mask, null);
+                if (digest != null) {
+                    return digest;
+                }
+            }
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static void release(MessageDigest digest) {
+            int mask = DIGESTS.length() - 1;
+            int start = ThreadLocalRandom.current().nextInt();
+            for (int i = 0; i <= mask; i++) {
+                if (DIGESTS.compareAndSet((start + i) & mask, null, digest)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,64 +1,118 @@
 package com.api.springsecurityauthcors.service.auth;
 
+import com.api.springsecurityauthcors.audit.AuthAuditEvent;
+import com.api.springsecurityauthcors.audit.AuthAuditLog;
 import com.api.springsecurityauthcors.domain.DTO.auth.*;
 import com.api.springsecurityauthcors.domain.enums.Role;
-import com.api.springsecurityauthcors.exception.user.UserNotFoundByIdException;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
 import com.api.springsecurityauthcors.repo.user.UserRepo;
 import com.api.springsecurityauthcors.security.JwtService;
 import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class AuthenticationService {
     private final UserRepo userRepo;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
-    public AuthenticationResponse register(RegisterRequest request) {
+    private final UserCache userCache;
+    private final AuthMetrics authMetrics;
+    private final AuthAuditLog auditLog;
+    /**
+     * Stores a user whose password was already hashed by {@link #encodePassword(String)}, which callers
+     * run on the {@link PasswordHashingExecutor} so that this database work stays off its workers.
+     */
+    public AuthenticationResponse register(RegisterRequest request, String encodedPassword) {
 
         var user = UserEntity.builder()
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(encodedPassword)
                 .role(Role.USER)
                 .patronymic(request.getPatronymic())
                 .build();
-        userRepo.save(user);
-        var jwtToken = jwtService.generateToken(user.getEmail());
+        try {
+            userRepo.save(user);
+        } catch (RuntimeException e) {
+            auditLog.record(AuthAuditEvent.Type.REGISTER, AuthMetrics.ERROR, null, user.getEmail(), null);
+            throw e;
+        }
+        userCache.removeUserFromCache(user.getEmail());
+        auditLog.record(AuthAuditEvent.Type.REGISTER, AuthMetrics.OK, user.getId(), user.getEmail(), null);
+        var jwtToken = jwtService.generateToken(user);
         return  AuthenticationResponse.builder()
                 .token(jwtToken)
                 .build();
     }
 
-    public AuthenticationResponse authenticate(AuthenticationRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+    /**
+     * The password check alone: loading the user and matching the hash. Callers run it on the
+     * {@link PasswordHashingExecutor} and mint the tokens with {@link #issueToken} afterwards.
+     */
+    public Authentication verifyCredentials(AuthenticationRequest request, String remoteAddress) {
+        Timer.Sample sample = authMetrics.start();
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()
+                    )
+            );
+            authMetrics.stage(sample, AuthMetrics.STAGE_PASSWORD_MATCH, AuthMetrics.OK);
+            return authentication;
+        } catch (UsernameNotFoundException e) {
+            authMetrics.stage(sample, AuthMetrics.STAGE_PASSWORD_MATCH, AuthMetrics.USER_NOT_FOUND);
+            auditLog.record(AuthAuditEvent.Type.LOGIN, AuthMetrics.USER_NOT_FOUND, null, request.getEmail(), remoteAddress);
+            throw new BadCredentialsException("Неверные учетные данные.");
+        } catch (BadCredentialsException e) {
+            authMetrics.stage(sample, AuthMetrics.STAGE_PASSWORD_MATCH, AuthMetrics.BAD_PASSWORD);
+            // The account exists; one indexed lookup on the failure path puts its id on the audit event.
+            Long userId = userRepo.findByEmail(request.getEmail()).map(UserEntity::getId).orElse(null);
+            auditLog.record(AuthAuditEvent.Type.LOGIN, AuthMetrics.BAD_PASSWORD, userId, request.getEmail(), remoteAddress);
+            throw e;
+        }
+    }
 
+    public AuthenticationResponse issueToken(AuthenticationRequest request, String remoteAddress) {
         var user = userRepo.findByEmail(request.getEmail()).orElseThrow();
+        auditLog.record(AuthAuditEvent.Type.LOGIN, AuthMetrics.OK, user.getId(), user.getEmail(), remoteAddress);
 
-        var jwtToken = jwtService.generateToken(user.getEmail());
+        var jwtToken = jwtService.generateToken(user);
         return  AuthenticationResponse.builder().token(jwtToken).build();
     }
 
-    public ChangePasswordResponse changePassword(ChangePasswordRequest request, String userNameFromAccess) throws UserNotFoundByIdException {
+    public ChangePasswordResponse changePassword(ChangePasswordRequest request,
+                                                 String userNameFromAccess,
+                                                 String encodedPassword) {
         var user = userRepo.findByEmail(userNameFromAccess).get();
 
-        user.setPassword(
-                passwordEncoder.encode(request.getPassword())
-        );
+        user.setPassword(encodedPassword);
         userRepo.save(user);
+        userCache.removeUserFromCache(user.getEmail());
+        auditLog.record(AuthAuditEvent.Type.PASSWORD_CHANGE, AuthMetrics.OK, user.getId(), user.getEmail(), null);
         return ChangePasswordResponse.builder()
                 .newPassword(request.getPassword())
                 .build();
     }
+
+    public String encodePassword(String rawPassword) {
+        Timer.Sample sample = authMetrics.start();
+        String encoded = passwordEncoder.encode(rawPassword);
+        authMetrics.stage(sample, AuthMetrics.STAGE_PASSWORD_HASH, AuthMetrics.OK);
+        return encoded;
+    }
 }
@@ -0,0 +1,72 @@
+package com.api.springsecurityauthcors.service.auth;
+
+import com.api.springsecurityauthcors.repo.refresh.RefreshTokenRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deletes expired refresh tokens in bounded chunks, one short transaction per chunk,
+ * pausing between chunks so the purge never holds locks for long.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+public class RefreshTokenReaper {
+    private final RefreshTokenRepo refreshTokenRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pauseBetweenBatches;
+    private final Counter purgedRows;
+    private final Timer purgeTimer;
+
+    public RefreshTokenReaper(RefreshTokenRepo refreshTokenRepo,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.refresh-token.purge.batch-size:500}") int batchSize,
+                              @Value("${auth.refresh-token.purge.max-batches-per-run:100}") int maxBatchesPerRun,
+                              @Value("${auth.refresh-token.purge.pause-between-batches:50ms}") Duration pauseBetweenBatches) {
+        this.refreshTokenRepo = refreshTokenRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseBetweenBatches = pauseBetweenBatches;
+        this.purgedRows = Counter.builder("auth.refresh.purge.rows").register(meterRegistry);
+        this.purgeTimer = Timer.builder("auth.refresh.purge.duration").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token.purge.interval:PT10M}",
+            initialDelayString = "${auth.refresh-token.purge.interval:PT10M}")
+    public void purgeExpired() {
+        final Instant now = Instant.now();
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            final long start = System.nanoTime();
+            Integer deleted = transactionTemplate.execute(status -> refreshTokenRepo.deleteExpiredBatch(now, batchSize));
+            purgeTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            if (deleted == null || deleted == 0) {
+                return;
+            }
+            purgedRows.increment(deleted);
+            if (deleted < batchSize) {
+                return;
+            }
+            try {
+                Thread.sleep(pauseBetweenBatches.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -1,53 +1,45 @@
 package com.api.springsecurityauthcors.service.auth;
 
 import com.api.springsecurityauthcors.domain.entity.RefreshToken;
-import com.api.springsecurityauthcors.exception.refresh.RefreshTokenNotFoundByTokenException;
-import com.api.springsecurityauthcors.repo.refresh.RefreshTokenRepo;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
 import com.api.springsecurityauthcors.repo.user.UserRepo;
+import com.api.springsecurityauthcors.service.auth.store.RefreshTokenRotation;
+import com.api.springsecurityauthcors.service.auth.store.RefreshTokenStore;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class RefreshTokenService {
-    private final RefreshTokenRepo refreshTokenRepo;
+    private final RefreshTokenStore refreshTokenStore;
     private final UserRepo userRepo;
+    private final AuthMetrics authMetrics;
 
     public RefreshToken createRefreshToken(String username) {
-        if(userRepo.findByEmail(username).get().getRefreshToken()!=null) {
-            return userRepo.findByEmail(username).get().getRefreshToken();
-        }
-        return refreshTokenRepo.save(
-                RefreshToken.builder()
-                        .token(UUID.randomUUID().toString())
-                        .expiration(Instant.now().plusSeconds(1296000))
-                        .user(userRepo.findByEmail(username).get())
-                        .build()
-        );
+        Timer.Sample sample = authMetrics.start();
+        RefreshToken refreshToken = refreshTokenStore.findOrCreate(userRepo.findByEmail(username).get());
+        authMetrics.stage(sample, AuthMetrics.STAGE_REFRESH_ISSUE, AuthMetrics.OK);
+        return refreshToken;
     }
 
-    public RefreshToken updateRefreshToken(String token) throws RefreshTokenNotFoundByTokenException {
-        var refreshToken = refreshTokenRepo.findRefreshTokenByToken(token).orElseThrow(()
-                -> new RefreshTokenNotFoundByTokenException(String.format("RefreshToken с token : %s не найден.", token)));
-        var user = refreshToken.getUser();
-        var username = user.getEmail();
-        user.setRefreshToken(null);
-        refreshTokenRepo.delete(refreshToken);
-
-        return refreshTokenRepo.save(
-                RefreshToken.builder()
-                        .token(UUID.randomUUID().toString())
-                        .expiration(Instant.now().plusSeconds(1296000))
-                        .user(userRepo.findByEmail(username).get())
-                        .build()
-        );
+    public RefreshTokenRotation rotateRefreshToken(String token) {
+        Timer.Sample sample = authMetrics.start();
+        RefreshTokenRotation rotation = refreshTokenStore.rotate(token);
+        authMetrics.stage(sample, AuthMetrics.STAGE_REFRESH_ROTATE,
+                rotation.isRotated() ? AuthMetrics.OK : AuthMetrics.CONFLICT);
+        return rotation;
+    }
+    public void revokeRefreshTokens(Long userId) {
+        refreshTokenStore.deleteByUserId(userId);
     }
+
     public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepo.findRefreshTokenByToken(token);
+        return refreshTokenStore.findByToken(token);
     }
 
 }
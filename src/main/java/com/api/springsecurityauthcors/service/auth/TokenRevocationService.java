@@ -0,0 +1,64 @@
+package com.api.springsecurityauthcors.service.auth;
+
+import com.api.springsecurityauthcors.domain.entity.RevokedToken;
+import com.api.springsecurityauthcors.repo.revoked.RevokedTokenRepo;
+import com.api.springsecurityauthcors.security.RevocationSet;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Persists access token revocations and keeps the in-memory {@link RevocationSet} in sync with them,
+ * so revocations survive restarts and reach every instance within one sync interval.
+ */
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TokenRevocationService {
+    private final RevokedTokenRepo revokedTokenRepo;
+    private final RevocationSet revocationSet;
+
+    /**
+     * Revokes the token until it expires. Returns false for tokens issued without a jti.
+     */
+    public boolean revoke(Claims claims) {
+        if (claims.getId() == null) {
+            return false;
+        }
+        Instant expiration = claims.getExpiration().toInstant();
+        revokedTokenRepo.save(RevokedToken.builder()
+                .jti(claims.getId())
+                .expiration(expiration)
+                .build());
+        revocationSet.add(claims.getId(), expiration.toEpochMilli());
+        return true;
+    }
+
+    public boolean isRevoked(Claims claims) {
+        return claims.getId() != null && revocationSet.isRevoked(claims.getId());
+    }
+
+    @PostConstruct
+    public void load() {
+        Instant now = Instant.now();
+        revocationSet.rebuild(revokedTokenRepo.findByExpirationAfter(now).stream()
+                .collect(Collectors.toMap(RevokedToken::getJti, r -> r.getExpiration().toEpochMilli())),
+                now.toEpochMilli());
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval:PT30S}",
+            initialDelayString = "${auth.revocation.sync-interval:PT30S}")
+    public void sync() {
+        revokedTokenRepo.deleteExpired(Instant.now());
+        load();
+    }
+}
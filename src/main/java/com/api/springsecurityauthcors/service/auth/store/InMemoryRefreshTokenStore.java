@@ -0,0 +1,285 @@
+package com.api.springsecurityauthcors.service.auth.store;
+
+import com.api.springsecurityauthcors.domain.entity.RefreshToken;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Refresh-token store for single-node deployments: tokens live in lock-striped shards
+ * and never touch the database. Expired tokens are evicted in expiration order; when a shard
+ * is full the token closest to expiry is dropped. The content can be snapshotted to a local file
+ * and is restored from it on startup.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final Shard[] shards;
+    private final ConcurrentHashMap<Long, String> tokenByUserId = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Path snapshotFile;
+
+    public InMemoryRefreshTokenStore(@Value("${auth.refresh-token.ttl:15d}") Duration ttl,
+                                     @Value("${auth.refresh-token.memory.shards:16}") int shardCount,
+                                     @Value("${auth.refresh-token.memory.max-tokens:100000}") int maxTokens,
+                                     @Value("${auth.refresh-token.memory.snapshot-file:}") String snapshotFile) {
+        this.ttl = ttl;
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+        int count = Integer.highestOneBit(Math.max(shardCount, 1));
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(Math.max(maxTokens / count, 1), this::evicted);
+        }
+    }
+
+    @Override
+    public RefreshToken findOrCreate(UserEntity user) {
+        String existing = tokenByUserId.get(user.getId());
+        if (existing != null) {
+            Optional<RefreshToken> refreshToken = findByToken(existing);
+            if (refreshToken.isPresent()) {
+                return refreshToken.get();
+            }
+            tokenByUserId.remove(user.getId(), existing);
+        }
+        RefreshToken created = newToken(userSnapshot(user));
+        shardOf(created.getToken()).put(created);
+        String winner = tokenByUserId.putIfAbsent(user.getId(), created.getToken());
+        if (winner != null) {
+            shardOf(created.getToken()).remove(created.getToken());
+            return findByToken(winner).orElse(created);
+        }
+        return created;
+    }
+
+    @Override
+    public Optional<RefreshToken> findByToken(String token) {
+        return Optional.ofNullable(shardOf(token).get(token, Instant.now()));
+    }
+
+    @Override
+    public RefreshTokenRotation rotate(String token) {
+        RefreshToken current = shardOf(token).remove(token);
+        if (current == null) {
+            return RefreshTokenRotation.conflict();
+        }
+        if (!current.getExpiration().isAfter(Instant.now())) {
+            evicted(current);
+            return RefreshTokenRotation.conflict();
+        }
+        RefreshToken rotated = newToken(current.getUser());
+        shardOf(rotated.getToken()).put(rotated);
+        tokenByUserId.put(rotated.getUser().getId(), rotated.getToken());
+        return RefreshTokenRotation.rotated(rotated);
+    }
+
+    @Override
+    public void deleteByUserId(Long userId) {
+        String token = tokenByUserId.remove(userId);
+        if (token != null) {
+            shardOf(token).remove(token);
+        }
+    }
+
+    @PostConstruct
+    public void restore() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return;
+        }
+        Instant now = Instant.now();
+        int restored = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring refresh token snapshot {} with unknown version", snapshotFile);
+                return;
+            }
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                RefreshToken refreshToken = RefreshToken.builder()
+                        .token(in.readUTF())
+                        .expiration(Instant.ofEpochMilli(in.readLong()))
+                        .user(UserEntity.builder()
+                                .id(in.readLong())
+                                .email(in.readUTF())
+                                .role(Role.valueOf(in.readUTF()))
+                                .build())
+                        .build();
+                if (refreshToken.getExpiration().isAfter(now)) {
+                    shardOf(refreshToken.getToken()).put(refreshToken);
+                    tokenByUserId.put(refreshToken.getUser().getId(), refreshToken.getToken());
+                    restored++;
+                }
+            }
+            log.info("Restored {} refresh tokens from {}", restored, snapshotFile);
+        } catch (IOException e) {
+            log.warn("Could not restore refresh tokens from {}", snapshotFile, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token.memory.snapshot-interval:PT1M}",
+            initialDelayString = "${auth.refresh-token.memory.snapshot-interval:PT1M}")
+    @PreDestroy
+    public void snapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        List<RefreshToken> tokens = new ArrayList<>();
+        Instant now = Instant.now();
+        for (Shard shard : shards) {
+            shard.collectLive(tokens, now);
+        }
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(tokens.size());
+                for (RefreshToken refreshToken : tokens) {
+                    out.writeUTF(refreshToken.getToken());
+                    out.writeLong(refreshToken.getExpiration().toEpochMilli());
+                    out.writeLong(refreshToken.getUser().getId());
+                    out.writeUTF(refreshToken.getUser().getEmail());
+                    out.writeUTF(refreshToken.getUser().getRole().name());
+                }
+            }
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write refresh token snapshot to {}", snapshotFile, e);
+        }
+    }
+
+    int trackedUsers() {
+        return tokenByUserId.size();
+    }
+
+    private void evicted(RefreshToken refreshToken) {
+        tokenByUserId.remove(refreshToken.getUser().getId(), refreshToken.getToken());
+    }
+
+    private RefreshToken newToken(UserEntity user) {
+        return RefreshToken.builder()
+                .token(UUID.randomUUID().toString())
+                .expiration(Instant.now().plus(ttl))
+                .user(user)
+                .build();
+    }
+
+    private UserEntity userSnapshot(UserEntity user) {
+        return UserEntity.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .build();
+    }
+
+    private Shard shardOf(String token) {
+        int hash = token.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, RefreshToken> tokens = new HashMap<>();
+        private final TreeSet<RefreshToken> byExpiration = new TreeSet<>(
+                Comparator.comparing(RefreshToken::getExpiration).thenComparing(RefreshToken::getToken));
+        private final int capacity;
+        private final Consumer<RefreshToken> onEvict;
+
+        private Shard(int capacity, Consumer<RefreshToken> onEvict) {
+            this.capacity = capacity;
+            this.onEvict = onEvict;
+        }
+
+        RefreshToken get(String token, Instant now) {
+            lock.lock();
+            try {
+                RefreshToken refreshToken = tokens.get(token);
+                return refreshToken != null && refreshToken.getExpiration().isAfter(now) ? refreshToken : null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(RefreshToken refreshToken) {
+            lock.lock();
+            try {
+                evictExpired(Instant.now());
+                while (tokens.size() >= capacity && !byExpiration.isEmpty()) {
+                    evict(byExpiration.pollFirst());
+                }
+                tokens.put(refreshToken.getToken(), refreshToken);
+                byExpiration.add(refreshToken);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        RefreshToken remove(String token) {
+            lock.lock();
+            try {
+                RefreshToken removed = tokens.remove(token);
+                if (removed != null) {
+                    byExpiration.remove(removed);
+                }
+                return removed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void collectLive(List<RefreshToken> target, Instant now) {
+            lock.lock();
+            try {
+                evictExpired(now);
+                target.addAll(tokens.values());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void evictExpired(Instant now) {
+            while (!byExpiration.isEmpty() && !byExpiration.first().getExpiration().isAfter(now)) {
+                evict(byExpiration.pollFirst());
+            }
+        }
+
+        private void evict(RefreshToken refreshToken) {
+            tokens.remove(refreshToken.getToken());
+            onEvict.accept(refreshToken);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.api.springsecurityauthcors.service.auth.store;
+
+import com.api.springsecurityauthcors.domain.entity.RefreshToken;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.repo.refresh.RefreshTokenRepo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+    private final RefreshTokenRepo refreshTokenRepo;
+    private final Duration ttl;
+
+    public JpaRefreshTokenStore(RefreshTokenRepo refreshTokenRepo,
+                                @Value("${auth.refresh-token.ttl:15d}") Duration ttl) {
+        this.refreshTokenRepo = refreshTokenRepo;
+        this.ttl = ttl;
+    }
+
+    @Override
+    @Transactional
+    public RefreshToken findOrCreate(UserEntity user) {
+        var now = Instant.now();
+        var existing = refreshTokenRepo.findByUserId(user.getId())
+                .filter(refreshToken -> refreshToken.getExpiration().isAfter(now));
+        if (existing.isEmpty()) {
+            refreshTokenRepo.upsertForUser(user.getId(), UUID.randomUUID().toString(), now.plus(ttl), now);
+            existing = refreshTokenRepo.findByUserId(user.getId());
+        }
+        var refreshToken = existing.orElseThrow();
+        // A detached copy with the loaded user: its lazy reference is never touched outside the session.
+        return RefreshToken.builder()
+                .id(refreshToken.getId())
+                .token(refreshToken.getToken())
+                .expiration(refreshToken.getExpiration())
+                .user(user)
+                .build();
+    }
+
+    @Override
+    public Optional<RefreshToken> findByToken(String token) {
+        return refreshTokenRepo.findRefreshTokenByTokenAndExpirationAfter(token, Instant.now());
+    }
+
+    @Override
+    @Transactional
+    public RefreshTokenRotation rotate(String token) {
+        var now = Instant.now();
+        var newToken = UUID.randomUUID().toString();
+        if (refreshTokenRepo.rotate(token, newToken, now.plus(ttl), now) != 1) {
+            return RefreshTokenRotation.conflict();
+        }
+        return refreshTokenRepo.findWithUserByToken(newToken)
+                .map(RefreshTokenRotation::rotated)
+                .orElseGet(RefreshTokenRotation::conflict);
+    }
+
+    @Override
+    @Transactional
+    public void deleteByUserId(Long userId) {
+        refreshTokenRepo.deleteByUserId(userId);
+    }
+}
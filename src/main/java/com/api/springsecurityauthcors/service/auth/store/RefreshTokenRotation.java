@@ -0,0 +1,27 @@
+package com.api.springsecurityauthcors.service.auth.store;
+
+import com.api.springsecurityauthcors.domain.entity.RefreshToken;
+
+/**
+ * Outcome of an atomic refresh-token rotation. A conflict means the presented token is unknown,
+ * expired or has already been rotated by a concurrent request.
+ */
+public record RefreshTokenRotation(Status status, RefreshToken refreshToken) {
+
+    public enum Status {
+        ROTATED,
+        CONFLICT
+    }
+
+    public static RefreshTokenRotation rotated(RefreshToken refreshToken) {
+        return new RefreshTokenRotation(Status.ROTATED, refreshToken);
+    }
+
+    public static RefreshTokenRotation conflict() {
+        return new RefreshTokenRotation(Status.CONFLICT, null);
+    }
+
+    public boolean isRotated() {
+        return status == Status.ROTATED;
+    }
+}
@@ -0,0 +1,22 @@
+package com.api.springsecurityauthcors.service.auth.store;
+
+import com.api.springsecurityauthcors.domain.entity.RefreshToken;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+
+import java.util.Optional;
+
+/**
+ * Storage of refresh tokens, selected with {@code auth.refresh-token.store} ({@code jpa} or {@code memory}).
+ */
+public interface RefreshTokenStore {
+    RefreshToken findOrCreate(UserEntity user);
+
+    Optional<RefreshToken> findByToken(String token);
+
+    /**
+     * Atomically replaces the token value and expiry if {@code token} exists and has not expired.
+     */
+    RefreshTokenRotation rotate(String token);
+
+    void deleteByUserId(Long userId);
+}
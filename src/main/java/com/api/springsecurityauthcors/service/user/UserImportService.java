@@ -0,0 +1,290 @@
+package com.api.springsecurityauthcors.service.user;
+
+import com.api.springsecurityauthcors.domain.DTO.auth.RegisterRequest;
+import com.api.springsecurityauthcors.domain.DTO.user.UserImportResultDTO;
+import com.api.springsecurityauthcors.domain.DTO.user.UserImportResultDTO.Status;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk user import. The JSON array of RegisterRequests is read as a stream in chunks of
+ * {@code users.import.batch-size}. Each chunk has its passwords hashed in parallel, takes its ids
+ * from the jwt_users id sequence in one round trip and is inserted with a single JDBC batch
+ * (IDENTITY ids rule out Hibernate batching). One NDJSON result per input row is written
+ * after every chunk.
+ */
+@Service
+@Profile("!reactive")
+public class UserImportService {
+    private static final String INSERT_USER = "insert into jwt_users " +
+            "(id, first_name, last_name, patronymic, email, password, role) values (?, ?, ?, ?, ?, ?, ?) " +
+            "on conflict (email) do nothing";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService hashingPool;
+    private final Semaphore imports = new Semaphore(1);
+    private final Map<Status, Counter> rowCounters = new EnumMap<>(Status.class);
+    private final int batchSize;
+    private volatile String idSequence;
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PasswordEncoder passwordEncoder,
+                             UserCache userCache,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${users.import.batch-size:1000}") int batchSize,
+                             @Value("${users.import.threads:0}") int threads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(batchSize, 1);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashingPool = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Status status : Status.values()) {
+            rowCounters.put(status, Counter.builder("users.import.rows")
+                    .tag("status", status.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Reserves the importer; only one import runs at a time. The returned lease must be closed once the
+     * import is over or will never run; closing it more than once is harmless.
+     */
+    public Optional<Lease> tryStart() {
+        return imports.tryAcquire() ? Optional.of(new Lease(imports)) : Optional.empty();
+    }
+
+    public void importUsers(InputStream in, OutputStream out) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in);
+             SequenceWriter results = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Ожидается JSON-массив пользователей.");
+            }
+            Set<String> seenEmails = new HashSet<>();
+            List<ImportRow> chunk = new ArrayList<>(batchSize);
+            int index = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                chunk.add(validate(index++, objectMapper.readValue(parser, RegisterRequest.class), seenEmails));
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, results);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, results);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    private ImportRow validate(int index, RegisterRequest request, Set<String> seenEmails) {
+        ImportRow row = new ImportRow(index, request);
+        String email = request.getEmail();
+        if (email == null || email.isBlank() || !email.contains("@")) {
+            row.reject(Status.INVALID, "Некорректный email.");
+        } else if (request.getPassword() == null || request.getPassword().isBlank()) {
+            row.reject(Status.INVALID, "Пароль не может быть пустым.");
+        } else if (!seenEmails.add(email)) {
+            row.reject(Status.DUPLICATE, "Email повторяется в импорте.");
+        }
+        return row;
+    }
+
+    private void importChunk(List<ImportRow> chunk, SequenceWriter results) throws IOException {
+        List<ImportRow> pending = chunk.stream().filter(row -> row.status == null).toList();
+        if (!pending.isEmpty()) {
+            rejectExisting(pending);
+            pending = pending.stream().filter(row -> row.status == null).toList();
+        }
+        if (!pending.isEmpty()) {
+            insert(pending);
+        }
+        for (ImportRow row : chunk) {
+            rowCounters.get(row.status).increment();
+            results.write(UserImportResultDTO.builder()
+                    .index(row.index)
+                    .email(row.request.getEmail())
+                    .status(row.status)
+                    .id(row.id)
+                    .message(row.message)
+                    .build());
+        }
+        results.flush();
+    }
+
+    private void rejectExisting(List<ImportRow> rows) {
+        Set<String> existing = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "select email from jwt_users where email in (:emails)",
+                Map.of("emails", rows.stream().map(row -> row.request.getEmail()).toList()),
+                String.class));
+        for (ImportRow row : rows) {
+            if (existing.contains(row.request.getEmail())) {
+                row.reject(Status.DUPLICATE, "Пользователь с таким email уже существует.");
+            }
+        }
+    }
+
+    private void insert(List<ImportRow> rows) {
+        List<CompletableFuture<String>> hashes = rows.stream()
+                .map(row -> CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(row.request.getPassword()), hashingPool))
+                .toList();
+        List<ImportRow> hashed = new ArrayList<>(rows.size());
+        Set<Long> inserted;
+        try {
+            List<Long> ids = allocateIds(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                ImportRow row = rows.get(i);
+                try {
+                    row.passwordHash = hashes.get(i).join();
+                } catch (CompletionException | CancellationException e) {
+                    Throwable cause = e.getCause() == null ? e : e.getCause();
+                    row.reject(Status.FAILED, "Не удалось захешировать пароль: " + cause.getMessage());
+                    continue;
+                }
+                row.id = ids.get(i);
+                hashed.add(row);
+            }
+            if (hashed.isEmpty()) {
+                return;
+            }
+            inserted = transactionTemplate.execute(status -> {
+                jdbcTemplate.batchUpdate(INSERT_USER, hashed, hashed.size(), (ps, row) -> {
+                    ps.setLong(1, row.id);
+                    ps.setString(2, row.request.getFirstName());
+                    ps.setString(3, row.request.getLastName());
+                    ps.setString(4, row.request.getPatronymic());
+                    ps.setString(5, row.request.getEmail());
+                    ps.setString(6, row.passwordHash);
+                    ps.setString(7, Role.USER.name());
+                });
+                return insertedIds(hashed);
+            });
+        } catch (DataAccessException e) {
+            for (ImportRow row : rows) {
+                if (row.status == null) {
+                    row.id = null;
+                    row.reject(Status.FAILED, e.getMostSpecificCause().getMessage());
+                }
+            }
+            return;
+        }
+        for (ImportRow row : hashed) {
+            if (inserted.contains(row.id)) {
+                row.status = Status.CREATED;
+                userCache.removeUserFromCache(row.request.getEmail());
+            } else {
+                row.id = null;
+                row.reject(Status.DUPLICATE, "Пользователь с таким email уже существует.");
+            }
+        }
+    }
+
+    /**
+     * Ids of the rows the batch actually stored. A concurrent registration of the same email after
+     * {@link #rejectExisting} makes {@code on conflict} skip the row; the rewritten batch reports no per-row
+     * counts, so the preallocated ids are looked up instead.
+     */
+    private Set<Long> insertedIds(List<ImportRow> rows) {
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "select id from jwt_users where id in (:ids)",
+                Map.of("ids", rows.stream().map(row -> row.id).toList()),
+                Long.class));
+    }
+
+    private List<Long> allocateIds(int count) {
+        if (idSequence == null) {
+            idSequence = jdbcTemplate.queryForObject("select pg_get_serial_sequence('jwt_users', 'id')", String.class);
+        }
+        return jdbcTemplate.queryForList("select nextval(?::regclass) from generate_series(1, ?)",
+                Long.class, idSequence, count);
+    }
+
+    public static final class Lease implements AutoCloseable {
+        private final Semaphore permit;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(Semaphore permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                permit.release();
+            }
+        }
+    }
+
+    private static final class ImportRow {
+        private final int index;
+        private final RegisterRequest request;
+        private Status status;
+        private String message;
+        private Long id;
+        private String passwordHash;
+
+        private ImportRow(int index, RegisterRequest request) {
+            this.index = index;
+            this.request = request;
+        }
+
+        private void reject(Status status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+    }
+}
@@ -1,33 +1,52 @@
 package com.api.springsecurityauthcors.service.user.impl;
 
+import com.api.springsecurityauthcors.domain.DTO.user.UserPageResponseDTO;
 import com.api.springsecurityauthcors.domain.DTO.user.UserResponseDTO;
+import com.api.springsecurityauthcors.domain.DTO.user.UserSearchRequest;
 import com.api.springsecurityauthcors.domain.entity.UserEntity;
-import com.api.springsecurityauthcors.domain.mapper.user.UserResponseMapper;
 import com.api.springsecurityauthcors.exception.user.UserNotFoundByIdException;
 import com.api.springsecurityauthcors.repo.user.UserRepo;
+import com.api.springsecurityauthcors.repo.user.UserResponseRow;
 import com.api.springsecurityauthcors.service.user.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepo userRepo;
-    private final UserResponseMapper userResponseMapper;
+    @Value("${users.page.default-size:20}")
+    private int defaultPageSize;
+    @Value("${users.page.max-size:100}")
+    private int maxPageSize;
     @Override
-    public List<UserResponseDTO> getAllUsers() {
-        return userResponseMapper.toDto(userRepo.findAll());
+    public UserPageResponseDTO getUsers(UserSearchRequest request) {
+        int size = request.getSize() == null ? defaultPageSize : Math.min(Math.max(request.getSize(), 1), maxPageSize);
+        List<UserResponseRow> rows = userRepo.findPage(request, size + 1);
+        Long nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = rows.get(size - 1).id();
+        }
+        return UserPageResponseDTO.builder()
+                .users(rows.stream().map(UserResponseRow::toDto).toList())
+                .nextCursor(nextCursor)
+                .build();
     }
     @Override
     public UserResponseDTO getCurrentUser(String userNameFromAccess) {
-        return userResponseMapper.toDto(userRepo.findByEmail(userNameFromAccess).get());
+        UserEntity user = userRepo.findByEmail(userNameFromAccess).get();
+        return new UserResponseDTO(user.getFirstName(), user.getLastName(), user.getPatronymic(), user.getEmail());
     }
     @Override
     public UserResponseDTO getUserById(Long userId) throws UserNotFoundByIdException {
-        return userResponseMapper.toDto(userRepo.findById(userId).orElseThrow(()
-                ->new UserNotFoundByIdException(String.format("Пользователь с id : %d не найден",userId))));
+        return userRepo.findResponseById(userId).orElseThrow(()
+                ->new UserNotFoundByIdException(String.format("Пользователь с id : %d не найден",userId)));
 
     }
 }
@@ -0,0 +1,31 @@
+-- Schema as previously created by ddl-auto. Existing databases are baselined at version 0
+-- (spring.flyway.baseline-on-migrate), so this script runs on them too; every statement is
+-- idempotent and only adds what ddl-auto never created.
+create table if not exists jwt_users (
+    id          bigint generated by default as identity primary key,
+    first_name  varchar(255),
+    last_name   varchar(255),
+    patronymic  varchar(255),
+    email       varchar(255),
+    password    varchar(255),
+    role        varchar(255) check (role in ('USER', 'ADMIN'))
+);
+create index if not exists idx_jwt_users_email on jwt_users (email);
+create index if not exists idx_jwt_users_role_id on jwt_users (role, id);
+create index if not exists idx_jwt_users_last_name on jwt_users (last_name);
+create index if not exists idx_jwt_users_first_name on jwt_users (first_name);
+
+create table if not exists refresh_token (
+    id          bigint generated by default as identity primary key,
+    token       varchar(255),
+    expiration  timestamp(6) with time zone,
+    user_id     bigint unique references jwt_users (id)
+);
+create index if not exists idx_refresh_token_token on refresh_token (token);
+create index if not exists idx_refresh_token_expiration on refresh_token (expiration);
+
+create table if not exists revoked_token (
+    jti         varchar(255) primary key,
+    expiration  timestamp(6) with time zone
+);
+create index if not exists idx_revoked_token_expiration on revoked_token (expiration);
@@ -0,0 +1,6 @@
+-- Email is the natural id of a user. Fails if duplicate emails exist; resolve them before upgrading.
+alter table jwt_users alter column email set not null;
+create unique index uk_jwt_users_email on jwt_users (email);
+drop index if exists idx_jwt_users_email;
+-- The unique index follows the database collation and cannot serve LIKE 'prefix%' (admin emailPrefix filter).
+create index idx_jwt_users_email_prefix on jwt_users (email text_pattern_ops);
@@ -0,0 +1,12 @@
+-- Written in batches by AuthAuditLog (auth.audit.sink: jdbc); rows are never updated.
+create table auth_audit_event (
+    id              bigint generated by default as identity primary key,
+    occurred_at     timestamp(6) with time zone not null,
+    event_type      varchar(32) not null,
+    outcome         varchar(32) not null,
+    user_id         bigint,
+    email           varchar(255),
+    remote_address  varchar(64)
+);
+create index idx_auth_audit_event_email_occurred_at on auth_audit_event (email, occurred_at);
+create index idx_auth_audit_event_occurred_at on auth_audit_event (occurred_at);
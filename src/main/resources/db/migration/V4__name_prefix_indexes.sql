@@ -0,0 +1,6 @@
+-- The plain name indexes follow the database collation and cannot serve LIKE 'prefix%' (admin name filter).
+-- The pattern_ops versions can, and the last_name OR first_name filter combines them in a BitmapOr.
+drop index if exists idx_jwt_users_last_name;
+drop index if exists idx_jwt_users_first_name;
+create index idx_jwt_users_last_name_prefix on jwt_users (last_name text_pattern_ops);
+create index idx_jwt_users_first_name_prefix on jwt_users (first_name text_pattern_ops);
@@ -0,0 +1,50 @@
+package com.api.springsecurityauthcors.reactive;
+
+import com.api.springsecurityauthcors.EmbeddedPostgresTest;
+import com.api.springsecurityauthcors.domain.DTO.auth.JWTResponse;
+import com.api.springsecurityauthcors.domain.DTO.auth.RegisterRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Base for tests of the reactive stack: the application runs with the reactive profile, Flyway migrates
+ * the shared embedded PostgreSQL over JDBC and the repositories reach it through R2DBC.
+ * One password worker with a one-slot queue, so a test can saturate the executor with two tasks.
+ */
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+public abstract class ReactiveEmbeddedPostgresTest extends EmbeddedPostgresTest {
+    protected static final String PASSWORD = "secret";
+
+    @Autowired
+    protected WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void reactiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.flyway.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + POSTGRES.getPort() + "/postgres");
+        registry.add("auth.password-executor.threads", () -> "1");
+        registry.add("auth.password-executor.queue-capacity", () -> "1");
+    }
+
+    protected WebTestClient.ResponseSpec post(String path, Object body) {
+        return webTestClient.post().uri(path).bodyValue(body).exchange();
+    }
+
+    protected JWTResponse register(String email) {
+        return post("/api/auth/register", RegisterRequest.builder()
+                .firstName("First")
+                .lastName("Last")
+                .email(email)
+                .password(PASSWORD)
+                .build())
+                .expectStatus().isOk()
+                .expectBody(JWTResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
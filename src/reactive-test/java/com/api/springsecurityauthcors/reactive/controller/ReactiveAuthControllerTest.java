@@ -0,0 +1,89 @@
+package com.api.springsecurityauthcors.reactive.controller;
+
+import com.api.springsecurityauthcors.domain.DTO.auth.AuthenticationRequest;
+import com.api.springsecurityauthcors.domain.DTO.auth.JWTResponse;
+import com.api.springsecurityauthcors.domain.DTO.auth.RefreshTokenRequest;
+import com.api.springsecurityauthcors.domain.DTO.auth.RegisterRequest;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.api.springsecurityauthcors.reactive.ReactiveEmbeddedPostgresTest;
+import com.api.springsecurityauthcors.service.auth.PasswordHashingExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReactiveAuthControllerTest extends ReactiveEmbeddedPostgresTest {
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Test
+    void registerLoginAndRotateTheRefreshToken() {
+        String email = "reactive-flow@example.com";
+        JWTResponse registered = register(email);
+        assertNotNull(registered.getAccessToken());
+        assertEquals(Role.USER, registered.getRole());
+
+        JWTResponse loggedIn = login(email, PASSWORD)
+                .expectStatus().isOk()
+                .expectBody(JWTResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertEquals(registered.getRefreshToken(), loggedIn.getRefreshToken());
+
+        JWTResponse rotated = post("/api/auth/refreshtoken", new RefreshTokenRequest(loggedIn.getRefreshToken()))
+                .expectStatus().isOk()
+                .expectBody(JWTResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotEquals(loggedIn.getRefreshToken(), rotated.getRefreshToken());
+
+        post("/api/auth/refreshtoken", new RefreshTokenRequest(loggedIn.getRefreshToken()))
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void wrongPasswordAndUnknownEmailAreBothUnauthorized() {
+        String email = "reactive-wrong-password@example.com";
+        register(email);
+
+        login(email, "not-" + PASSWORD).expectStatus().isUnauthorized();
+        login("reactive-unknown@example.com", PASSWORD).expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void saturatedPasswordWorkersAnswer429() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordHashingExecutor.submit(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        try {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            passwordHashingExecutor.submit(() -> true);
+
+            post("/api/auth/register", RegisterRequest.builder()
+                    .email("reactive-saturated@example.com")
+                    .password(PASSWORD)
+                    .build())
+                    .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+            // An unknown email is matched against a dummy hash on the same workers instead of failing at once.
+            login("reactive-saturated-unknown@example.com", PASSWORD)
+                    .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private WebTestClient.ResponseSpec login(String email, String password) {
+        return post("/api/auth/login", AuthenticationRequest.builder().email(email).password(password).build());
+    }
+}
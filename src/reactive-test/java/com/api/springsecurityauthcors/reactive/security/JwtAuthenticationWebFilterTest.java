@@ -0,0 +1,46 @@
+package com.api.springsecurityauthcors.reactive.security;
+
+import com.api.springsecurityauthcors.reactive.ReactiveEmbeddedPostgresTest;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+class JwtAuthenticationWebFilterTest extends ReactiveEmbeddedPostgresTest {
+    private static final String EMAIL = "reactive-filter@example.com";
+
+    @Test
+    void validTokenAuthenticatesTheRequest() {
+        String accessToken = register(EMAIL).getAccessToken();
+
+        webTestClient.get().uri("/api/users/current")
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.email").isEqualTo(EMAIL);
+    }
+
+    @Test
+    void tokenWithAForeignSignatureLeavesTheRequestUnauthenticated() {
+        String forged = Jwts.builder()
+                .setSubject(EMAIL)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS256), SignatureAlgorithm.HS256)
+                .compact();
+
+        webTestClient.get().uri("/api/users/current")
+                .headers(headers -> headers.setBearerAuth(forged))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void malformedTokenLeavesTheRequestUnauthenticated() {
+        webTestClient.get().uri("/api/users/current")
+                .headers(headers -> headers.setBearerAuth("not-a-jwt"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
@@ -0,0 +1,78 @@
+package com.api.springsecurityauthcors.reactive.controller;
+
+import com.api.springsecurityauthcors.domain.DTO.auth.AuthenticationRequest;
+import com.api.springsecurityauthcors.domain.DTO.auth.RefreshTokenRequest;
+import com.api.springsecurityauthcors.domain.DTO.auth.RegisterRequest;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import com.api.springsecurityauthcors.reactive.service.ReactiveAuthService;
+import com.api.springsecurityauthcors.security.LoginThrottle;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+public class ReactiveAuthController {
+    private final ReactiveAuthService authService;
+    private final LoginThrottle loginThrottle;
+    private final AuthMetrics authMetrics;
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest request) {
+        Timer.Sample sample = authMetrics.start();
+        return timed("register", sample, authService.register(request)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> !(e instanceof RejectedExecutionException),
+                        e -> Mono.just(ResponseEntity.badRequest().body(e.getMessage()))));
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<?>> authenticate(@Valid @RequestBody AuthenticationRequest request,
+                                                ServerHttpRequest httpRequest) {
+        Timer.Sample sample = authMetrics.start();
+        InetSocketAddress remoteAddress = httpRequest.getRemoteAddress();
+        String clientAddress = remoteAddress == null ? null : remoteAddress.getHostString();
+        if (!loginThrottle.tryAcquire(request.getEmail(), clientAddress)) {
+            return timed("login", sample, Mono.just(
+                    ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Слишком много попыток входа, повторите попытку позже.")
+            ));
+        }
+        return timed("login", sample, authService.authenticate(request)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(AuthenticationException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage()))));
+    }
+
+    @PostMapping("/refreshtoken")
+    public Mono<ResponseEntity<?>> refreshToken(@RequestBody RefreshTokenRequest request) {
+        Timer.Sample sample = authMetrics.start();
+        return timed("refresh", sample, authService.rotateRefreshToken(request.getToken())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.CONFLICT).body(
+                        String.format("RefreshToken с token : %s не найден, истёк или уже обновлён.", request.getToken())
+                )));
+    }
+
+    private Mono<ResponseEntity<?>> timed(String endpoint, Timer.Sample sample, Mono<ResponseEntity<?>> response) {
+        return response
+                .onErrorResume(RejectedExecutionException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage())))
+                .doOnSuccess(result -> authMetrics.endpoint(sample, endpoint, AuthMetrics.outcomeOf(result, null)))
+                .doOnError(failure -> authMetrics.endpoint(sample, endpoint, AuthMetrics.outcomeOf(null, failure)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.api.springsecurityauthcors.reactive.controller;
+
+import com.api.springsecurityauthcors.reactive.service.ReactiveUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class ReactiveUserController {
+    private final ReactiveUserService userService;
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<?>> getUserById(@PathVariable Long userId) {
+        return userService.getUserById(userId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(ResponseEntity.badRequest().body(e.getMessage())));
+    }
+
+    @GetMapping("/current")
+    public Mono<ResponseEntity<?>> getCurrentUserInfo(Principal principal) {
+        return userService.getCurrentUser(principal.getName())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.badRequest().body("Пользователь не найден"));
+    }
+}
@@ -0,0 +1,23 @@
+package com.api.springsecurityauthcors.reactive.repo;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface ReactiveRefreshTokenRepo extends ReactiveCrudRepository<RefreshTokenRow, Long> {
+    Mono<RefreshTokenRow> findByUserId(Long userId);
+
+    Mono<RefreshTokenRow> findByToken(String token);
+
+    @Modifying
+    @Query("update refresh_token set token = :newToken, expiration = :newExpiration " +
+            "where token = :oldToken and expiration > :now")
+    Mono<Integer> rotate(@Param("oldToken") String oldToken,
+                         @Param("newToken") String newToken,
+                         @Param("newExpiration") Instant newExpiration,
+                         @Param("now") Instant now);
+}
@@ -0,0 +1,8 @@
+package com.api.springsecurityauthcors.reactive.repo;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepo extends ReactiveCrudRepository<UserRow, Long> {
+    Mono<UserRow> findByEmail(String email);
+}
@@ -0,0 +1,26 @@
+package com.api.springsecurityauthcors.reactive.repo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * R2DBC mapping of the {@code refresh_token} table.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("refresh_token")
+public class RefreshTokenRow {
+    @Id
+    private Long id;
+    private String token;
+    private Instant expiration;
+    private Long userId;
+}
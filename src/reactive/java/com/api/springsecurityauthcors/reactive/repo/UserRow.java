@@ -0,0 +1,46 @@
+package com.api.springsecurityauthcors.reactive.repo;
+
+import com.api.springsecurityauthcors.domain.DTO.user.UserResponseDTO;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@code jwt_users} table owned by {@link UserEntity}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("jwt_users")
+public class UserRow {
+    @Id
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String patronymic;
+    private String email;
+    private String password;
+    private Role role;
+
+    public UserEntity toEntity() {
+        return UserEntity.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .patronymic(patronymic)
+                .email(email)
+                .password(password)
+                .role(role)
+                .build();
+    }
+
+    public UserResponseDTO toResponse() {
+        return new UserResponseDTO(firstName, lastName, patronymic, email);
+    }
+}
@@ -0,0 +1,80 @@
+package com.api.springsecurityauthcors.reactive.security;
+
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import com.api.springsecurityauthcors.reactive.repo.ReactiveUserRepo;
+import com.api.springsecurityauthcors.security.JwtPrincipal;
+import com.api.springsecurityauthcors.security.JwtService;
+import com.api.springsecurityauthcors.security.RevocationSet;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * WebFlux counterpart of JWTAuthenticationFilter. Token verification is CPU-only and runs inline;
+ * the user lookup, when needed, goes through R2DBC. Invalid tokens leave the exchange
+ * unauthenticated instead of failing it. Registered only inside the security chain.
+ */
+@RequiredArgsConstructor
+public class JwtAuthenticationWebFilter implements WebFilter {
+    private final JwtService jwtService;
+    private final ReactiveUserRepo userRepo;
+    private final RevocationSet revocationSet;
+    private final ServerWebExchangeMatcher publicRoutes;
+    private final AuthMetrics authMetrics;
+    private final boolean stateless;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        final String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        return publicRoutes.matches(exchange)
+                .flatMap(match -> match.isMatch()
+                        ? chain.filter(exchange)
+                        : authenticate(exchange, chain, authHeader.substring(7)));
+    }
+
+    private Mono<Void> authenticate(ServerWebExchange exchange, WebFilterChain chain, String jwt) {
+        final Claims claims;
+        try {
+            claims = jwtService.extractAllClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            return chain.filter(exchange);
+        }
+        if (claims.getSubject() == null || revocationSet.isRevoked(claims.getId())) {
+            return chain.filter(exchange);
+        }
+        final Mono<JwtPrincipal> principal = stateless && jwtService.hasPrincipalClaims(claims)
+                ? Mono.just(jwtService.extractPrincipal(claims))
+                : loadPrincipal(claims.getSubject());
+        return principal
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(found -> found
+                        .map(p -> chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                                new UsernamePasswordAuthenticationToken(p, null, p.getAuthorities()))))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    private Mono<JwtPrincipal> loadPrincipal(String userEmail) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = authMetrics.start();
+            return userRepo.findByEmail(userEmail)
+                    .map(user -> new JwtPrincipal(user.getId(), user.getEmail(), user.getRole()))
+                    .doOnSuccess(found -> authMetrics.stage(sample, AuthMetrics.STAGE_USER_LOOKUP,
+                            found != null ? AuthMetrics.OK : AuthMetrics.USER_NOT_FOUND));
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.api.springsecurityauthcors.reactive.security;
+
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import com.api.springsecurityauthcors.reactive.repo.ReactiveUserRepo;
+import com.api.springsecurityauthcors.reactive.repo.UserRow;
+import com.api.springsecurityauthcors.security.JwtService;
+import com.api.springsecurityauthcors.security.PasswordEncoders;
+import com.api.springsecurityauthcors.security.PasswordHashingProperties;
+import com.api.springsecurityauthcors.security.PublicRoutes;
+import com.api.springsecurityauthcors.security.RevocationSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+/**
+ * WebFlux security chain of the reactive profile, with the same public routes, CORS policy
+ * and authorization rules as SecurityConfiguration.
+ */
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+@EnableConfigurationProperties(PasswordHashingProperties.class)
+public class ReactiveSecurityConfiguration {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         JwtService jwtService,
+                                                         ReactiveUserRepo userRepo,
+                                                         RevocationSet revocationSet,
+                                                         PublicRoutes publicRoutes,
+                                                         CorsConfiguration corsPolicy,
+                                                         AuthMetrics authMetrics,
+                                                         @Value("${jwt.stateless:false}") boolean stateless) {
+        ServerWebExchangeMatcher publicMatcher =
+                ServerWebExchangeMatchers.pathMatchers(publicRoutes.getPaths().toArray(String[]::new));
+        var corsSource = new UrlBasedCorsConfigurationSource();
+        corsSource.registerCorsConfiguration("/**", corsPolicy);
+
+        return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .cors(cors -> cors.configurationSource(corsSource))
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(auth -> auth
+                        .matchers(publicMatcher).permitAll()
+                        .pathMatchers("/actuator/**").hasAuthority("ADMIN")
+                        .pathMatchers("/api/admin/**").hasAuthority("ADMIN")
+                        .anyExchange().authenticated()
+                )
+                .exceptionHandling(exc -> exc.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterAt(new JwtAuthenticationWebFilter(jwtService, userRepo, revocationSet, publicMatcher,
+                        authMetrics, stateless), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    @Bean
+    public ReactiveUserDetailsService userDetailsService(ReactiveUserRepo userRepo) {
+        return email -> userRepo.findByEmail(email).map(UserRow::toEntity);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return PasswordEncoders.create(passwordHashingProperties);
+    }
+}
@@ -0,0 +1,146 @@
+package com.api.springsecurityauthcors.reactive.service;
+
+import com.api.springsecurityauthcors.domain.DTO.auth.AuthenticationRequest;
+import com.api.springsecurityauthcors.domain.DTO.auth.JWTResponse;
+import com.api.springsecurityauthcors.domain.DTO.auth.RegisterRequest;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import com.api.springsecurityauthcors.reactive.repo.ReactiveRefreshTokenRepo;
+import com.api.springsecurityauthcors.reactive.repo.ReactiveUserRepo;
+import com.api.springsecurityauthcors.reactive.repo.RefreshTokenRow;
+import com.api.springsecurityauthcors.reactive.repo.UserRow;
+import com.api.springsecurityauthcors.security.JwtService;
+import com.api.springsecurityauthcors.service.auth.PasswordHashingExecutor;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking counterpart of AuthenticationService and RefreshTokenService. BCrypt runs on the
+ * bounded {@link PasswordHashingExecutor}, never on the event loop.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAuthService {
+    private final ReactiveUserRepo userRepo;
+    private final ReactiveRefreshTokenRepo refreshTokenRepo;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final JwtService jwtService;
+    private final AuthMetrics authMetrics;
+    @Value("${auth.refresh-token.ttl:15d}")
+    private Duration refreshTokenTtl;
+    private String unknownUserPassword;
+
+    @PostConstruct
+    void encodeUnknownUserPassword() {
+        unknownUserPassword = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    public Mono<JWTResponse> register(RegisterRequest request) {
+        return onPasswordWorker(() -> encodePassword(request.getPassword()))
+                .flatMap(password -> userRepo.save(UserRow.builder()
+                        .firstName(request.getFirstName())
+                        .lastName(request.getLastName())
+                        .patronymic(request.getPatronymic())
+                        .email(request.getEmail())
+                        .password(password)
+                        .role(Role.USER)
+                        .build()))
+                .flatMap(this::issueTokens);
+    }
+
+    public Mono<JWTResponse> authenticate(AuthenticationRequest request) {
+        return userRepo.findByEmail(request.getEmail())
+                .switchIfEmpty(onPasswordWorker(() -> rejectUnknownUser(request.getPassword())))
+                .flatMap(user -> onPasswordWorker(() -> matchPassword(request.getPassword(), user)))
+                .flatMap(this::issueTokens);
+    }
+
+    /**
+     * Completes empty when the token is unknown, expired or was already rotated by a concurrent request.
+     */
+    public Mono<JWTResponse> rotateRefreshToken(String token) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = authMetrics.start();
+            Instant now = Instant.now();
+            String newToken = UUID.randomUUID().toString();
+            return refreshTokenRepo.rotate(token, newToken, now.plus(refreshTokenTtl), now)
+                    .filter(updated -> updated == 1)
+                    .flatMap(updated -> refreshTokenRepo.findByToken(newToken))
+                    .flatMap(refreshToken -> userRepo.findById(refreshToken.getUserId())
+                            .map(user -> response(user, refreshToken)))
+                    .doOnSuccess(response -> authMetrics.stage(sample, AuthMetrics.STAGE_REFRESH_ROTATE,
+                            response != null ? AuthMetrics.OK : AuthMetrics.CONFLICT));
+        });
+    }
+
+    private Mono<JWTResponse> issueTokens(UserRow user) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = authMetrics.start();
+            return refreshTokenRepo.findByUserId(user.getId())
+                    .flatMap(existing -> existing.getExpiration().isAfter(Instant.now())
+                            ? Mono.just(existing)
+                            : refreshTokenRepo.delete(existing).then(Mono.<RefreshTokenRow>empty()))
+                    .switchIfEmpty(Mono.defer(() -> refreshTokenRepo.save(RefreshTokenRow.builder()
+                            .token(UUID.randomUUID().toString())
+                            .expiration(Instant.now().plus(refreshTokenTtl))
+                            .userId(user.getId())
+                            .build())))
+                    .doOnSuccess(refreshToken -> authMetrics.stage(sample, AuthMetrics.STAGE_REFRESH_ISSUE, AuthMetrics.OK))
+                    .map(refreshToken -> response(user, refreshToken));
+        });
+    }
+
+    private JWTResponse response(UserRow user, RefreshTokenRow refreshToken) {
+        return JWTResponse.builder()
+                .accessToken(jwtService.generateToken(user.toEntity()))
+                .refreshToken(refreshToken.getToken())
+                .role(user.getRole())
+                .build();
+    }
+
+    private String encodePassword(String rawPassword) {
+        Timer.Sample sample = authMetrics.start();
+        String encoded = passwordEncoder.encode(rawPassword);
+        authMetrics.stage(sample, AuthMetrics.STAGE_PASSWORD_HASH, AuthMetrics.OK);
+        return encoded;
+    }
+
+    private UserRow matchPassword(String rawPassword, UserRow user) {
+        Timer.Sample sample = authMetrics.start();
+        if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
+            authMetrics.stage(sample, AuthMetrics.STAGE_PASSWORD_MATCH, AuthMetrics.BAD_PASSWORD);
+            throw new BadCredentialsException("Неверные учетные данные.");
+        }
+        authMetrics.stage(sample, AuthMetrics.STAGE_PASSWORD_MATCH, AuthMetrics.OK);
+        return user;
+    }
+
+    /**
+     * Matches against a hash of the current cost before failing, so an unknown email takes as long as a wrong
+     * password and the response time does not reveal which accounts exist.
+     */
+    private UserRow rejectUnknownUser(String rawPassword) {
+        Timer.Sample sample = authMetrics.start();
+        passwordEncoder.matches(rawPassword, unknownUserPassword);
+        authMetrics.stage(sample, AuthMetrics.STAGE_PASSWORD_MATCH, AuthMetrics.USER_NOT_FOUND);
+        throw new BadCredentialsException("Неверные учетные данные.");
+    }
+
+    private <T> Mono<T> onPasswordWorker(Callable<T> task) {
+        return Mono.defer(() -> Mono.fromFuture(passwordHashingExecutor.submit(task)));
+    }
+}
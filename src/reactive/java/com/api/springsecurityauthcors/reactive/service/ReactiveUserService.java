@@ -0,0 +1,28 @@
+package com.api.springsecurityauthcors.reactive.service;
+
+import com.api.springsecurityauthcors.domain.DTO.user.UserResponseDTO;
+import com.api.springsecurityauthcors.exception.user.UserNotFoundByIdException;
+import com.api.springsecurityauthcors.reactive.repo.ReactiveUserRepo;
+import com.api.springsecurityauthcors.reactive.repo.UserRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveUserService {
+    private final ReactiveUserRepo userRepo;
+
+    public Mono<UserResponseDTO> getCurrentUser(String userNameFromAccess) {
+        return userRepo.findByEmail(userNameFromAccess).map(UserRow::toResponse);
+    }
+
+    public Mono<UserResponseDTO> getUserById(Long userId) {
+        return userRepo.findById(userId)
+                .map(UserRow::toResponse)
+                .switchIfEmpty(Mono.error(() ->
+                        new UserNotFoundByIdException(String.format("Пользователь с id : %d не найден", userId))));
+    }
+}
@@ -0,0 +1,67 @@
+package com.api.springsecurityauthcors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Upgrades a database created by the ddl-auto era of the application (no Flyway history, no revoked_token,
+ * no indexes) and starts the application on it, which fails if the migrated schema does not validate.
+ */
+class FlywayMigrationTest {
+    private static final String DATABASE = "legacy_schema";
+
+    private static final String LEGACY_SCHEMA = """
+            create table jwt_users (
+                id bigint generated by default as identity,
+                email varchar(255),
+                first_name varchar(255),
+                last_name varchar(255),
+                password varchar(255),
+                patronymic varchar(255),
+                role varchar(255) check (role in ('USER','ADMIN')),
+                primary key (id));
+            create table refresh_token (
+                expiration timestamp(6) with time zone,
+                id bigint generated by default as identity,
+                user_id bigint unique,
+                token varchar(255),
+                primary key (id));
+            alter table if exists refresh_token
+                add constraint fk_refresh_token_user foreign key (user_id) references jwt_users;
+            insert into jwt_users (email, password, role) values ('legacy@example.com', 'hash', 'USER');
+            """;
+
+    @Test
+    void upgradesDdlAutoSchemaAndValidates() {
+        new JdbcTemplate(dataSource("postgres")).execute("create database " + DATABASE);
+        JdbcTemplate legacy = new JdbcTemplate(dataSource(DATABASE));
+        legacy.execute(LEGACY_SCHEMA);
+
+        try (ConfigurableApplicationContext ignored = new SpringApplicationBuilder(SpringSecurityAuthCorsApplication.class)
+                .run("--spring.datasource.url=" + EmbeddedPostgresTest.POSTGRES.getJdbcUrl("postgres", DATABASE),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--server.port=0",
+                        "--auth.password.calibrate=false")) {
+            assertEquals(List.of("0", "1", "2", "3", "4"), legacy.queryForList(
+                    "select version from flyway_schema_history where success order by installed_rank", String.class));
+            assertEquals(0, legacy.queryForObject("select count(*) from revoked_token", Integer.class));
+            assertEquals(List.of("idx_jwt_users_first_name_prefix", "idx_jwt_users_last_name_prefix"),
+                    legacy.queryForList("select indexname from pg_indexes where indexname like '%name_prefix' " +
+                            "order by indexname", String.class));
+            assertEquals("legacy@example.com", legacy.queryForObject("select email from jwt_users", String.class));
+        }
+    }
+
+    private static SingleConnectionDataSource dataSource(String database) {
+        return new SingleConnectionDataSource(
+                EmbeddedPostgresTest.POSTGRES.getJdbcUrl("postgres", database), "postgres", "postgres", true);
+    }
+}
@@ -0,0 +1,39 @@
+package com.api.springsecurityauthcors;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A virtual thread that blocks inside a synchronized block pins its carrier thread,
+ * so request-path code uses ReentrantLock or lock-free structures instead.
+ */
+class PinningGuardTest {
+    private static final Pattern SYNCHRONIZED = Pattern.compile("\\bsynchronized\\b");
+
+    @Test
+    void mainSourcesDoNotUseSynchronized() throws IOException {
+        try (Stream<Path> sources = Files.walk(Path.of("src/main/java"))) {
+            List<Path> offenders = sources
+                    .filter(path -> path.toString().endsWith(".java"))
+                    .filter(PinningGuardTest::usesSynchronized)
+                    .toList();
+            assertEquals(List.of(), offenders);
+        }
+    }
+
+    private static boolean usesSynchronized(Path source) {
+        try {
+            return SYNCHRONIZED.matcher(Files.readString(source)).find();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,10 +1,8 @@
 package com.api.springsecurityauthcors;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class SpringSecurityAuthCorsApplicationTests {
+class SpringSecurityAuthCorsApplicationTests extends EmbeddedPostgresTest {
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,88 @@
+package com.api.springsecurityauthcors.audit;
+
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthAuditLogTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<List<AuthAuditEvent>> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch sinkEntered = new CountDownLatch(1);
+    private final CountDownLatch sinkReleased = new CountDownLatch(1);
+
+    @Test
+    void writesEventsInOrderInBoundedBatchesAndFlushesOnShutdown() throws InterruptedException {
+        AuthAuditLog auditLog = start(batch -> batches.add(List.copyOf(batch)), 16, 3, "drop");
+
+        LongStream.rangeClosed(1, 7).forEach(id -> login(auditLog, id));
+        auditLog.shutdown();
+
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 3));
+        assertEquals(LongStream.rangeClosed(1, 7).boxed().toList(),
+                batches.stream().flatMap(List::stream).map(AuthAuditEvent::userId).toList());
+        assertEquals(7, registry.get("auth.audit.written").functionCounter().count());
+    }
+
+    @Test
+    void dropsEventsWhileTheBufferIsFull() throws InterruptedException {
+        AuthAuditLog auditLog = start(this::stallingSink, 2, 1, "drop");
+        login(auditLog, 1);
+        assertTrue(sinkEntered.await(5, TimeUnit.SECONDS));
+
+        LongStream.rangeClosed(2, 5).forEach(id -> login(auditLog, id));
+        assertEquals(2, registry.get("auth.audit.dropped").functionCounter().count());
+        assertEquals(2, registry.get("auth.audit.queue.depth").gauge().value());
+
+        sinkReleased.countDown();
+        auditLog.shutdown();
+        assertEquals(3, registry.get("auth.audit.written").functionCounter().count());
+    }
+
+    @Test
+    void blockPolicyWaitsForSpace() throws Exception {
+        AuthAuditLog auditLog = start(this::stallingSink, 2, 1, "block");
+        login(auditLog, 1);
+        assertTrue(sinkEntered.await(5, TimeUnit.SECONDS));
+        login(auditLog, 2);
+        login(auditLog, 3);
+
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> login(auditLog, 4));
+        Thread.sleep(100);
+        assertFalse(blocked.isDone());
+        sinkReleased.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+
+        auditLog.shutdown();
+        assertEquals(0, registry.get("auth.audit.dropped").functionCounter().count());
+        assertEquals(4, registry.get("auth.audit.written").functionCounter().count());
+    }
+
+    private AuthAuditLog start(AuditSink sink, int capacity, int batchSize, String overflow) {
+        AuthAuditLog auditLog = new AuthAuditLog(sink, true, capacity, batchSize, Duration.ofMillis(20), overflow,
+                Duration.ofSeconds(5));
+        auditLog.bindTo(registry);
+        auditLog.start();
+        return auditLog;
+    }
+
+    private void stallingSink(List<AuthAuditEvent> batch) throws InterruptedException {
+        sinkEntered.countDown();
+        sinkReleased.await();
+    }
+
+    private static void login(AuthAuditLog auditLog, long userId) {
+        auditLog.record(AuthAuditEvent.Type.LOGIN, AuthMetrics.OK, userId, "user" + userId + "@example.com", "127.0.0.1");
+    }
+}
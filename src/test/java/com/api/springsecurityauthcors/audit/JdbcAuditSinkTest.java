@@ -0,0 +1,43 @@
+package com.api.springsecurityauthcors.audit;
+
+import com.api.springsecurityauthcors.EmbeddedPostgresTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JdbcAuditSinkTest extends EmbeddedPostgresTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void writesTheBatchIntoAuthAuditEvent() {
+        String email = UUID.randomUUID() + "@example.com";
+        Instant occurredAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        new JdbcAuditSink(jdbcTemplate).write(List.of(
+                new AuthAuditEvent(occurredAt, AuthAuditEvent.Type.LOGIN, "user_not_found", null, email, "10.0.0.1"),
+                new AuthAuditEvent(occurredAt.plusMillis(1), AuthAuditEvent.Type.LOGIN, "ok", 42L, email, "10.0.0.1")));
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select occurred_at, event_type, outcome, user_id, remote_address from auth_audit_event"
+                        + " where email = ? order by occurred_at", email);
+        assertEquals(2, rows.size());
+        assertEquals(occurredAt, ((Timestamp) rows.get(0).get("occurred_at")).toInstant());
+        assertEquals("LOGIN", rows.get(0).get("event_type"));
+        assertEquals("user_not_found", rows.get(0).get("outcome"));
+        assertNull(rows.get(0).get("user_id"));
+        assertEquals("10.0.0.1", rows.get(0).get("remote_address"));
+        assertEquals("ok", rows.get(1).get("outcome"));
+        assertEquals(42L, ((Number) rows.get(1).get("user_id")).longValue());
+    }
+}
@@ -0,0 +1,77 @@
+package com.api.springsecurityauthcors.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RotatingFileAuditSinkTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void rotatesOnceTheFileExceedsMaxSizeAndKeepsMaxFiles() throws Exception {
+        Path file = dir.resolve("auth-audit.log");
+        RotatingFileAuditSink sink = new RotatingFileAuditSink(objectMapper, file, DataSize.ofBytes(1), 2);
+        try {
+            for (int i = 1; i <= 4; i++) {
+                sink.write(List.of(event("user" + i + "@example.com")));
+            }
+        } finally {
+            sink.close();
+        }
+
+        assertEquals(List.of("auth-audit.log", "auth-audit.log.1", "auth-audit.log.2"), fileNames());
+        assertEquals(List.of("user4@example.com"), emails(file));
+        assertEquals(List.of("user3@example.com"), emails(dir.resolve("auth-audit.log.1")));
+        assertEquals(List.of("user2@example.com"), emails(dir.resolve("auth-audit.log.2")));
+    }
+
+    @Test
+    void appendsToAnExistingFileUntilItIsFull() throws Exception {
+        Path file = dir.resolve("auth-audit.log");
+        RotatingFileAuditSink first = new RotatingFileAuditSink(objectMapper, file, DataSize.ofKilobytes(1), 2);
+        first.write(List.of(event("a@example.com"), event("b@example.com")));
+        first.close();
+
+        RotatingFileAuditSink reopened = new RotatingFileAuditSink(objectMapper, file, DataSize.ofKilobytes(1), 2);
+        reopened.write(List.of(event("c@example.com")));
+        reopened.close();
+
+        assertEquals(List.of("auth-audit.log"), fileNames());
+        assertEquals(List.of("a@example.com", "b@example.com", "c@example.com"), emails(file));
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private List<String> emails(Path file) throws IOException {
+        List<String> emails = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            AuthAuditEvent event = objectMapper.readValue(line, AuthAuditEvent.class);
+            assertEquals(AuthAuditEvent.Type.LOGIN, event.type());
+            emails.add(event.email());
+        }
+        return emails;
+    }
+
+    private static AuthAuditEvent event(String email) {
+        return new AuthAuditEvent(Instant.now(), AuthAuditEvent.Type.LOGIN, "ok", 1L, email, "127.0.0.1");
+    }
+}
@@ -0,0 +1,98 @@
+package com.api.springsecurityauthcors.controller.admin;
+
+import com.api.springsecurityauthcors.service.user.UserImportService;
+import com.api.springsecurityauthcors.service.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdminControllerImportTest {
+    private UserImportService userImportService;
+    private UserImportService.Lease lease;
+    private AdminController controller;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = mock(UserImportService.class);
+        lease = mock(UserImportService.Lease.class);
+        controller = new AdminController(mock(UserService.class), userImportService);
+        request = new MockHttpServletRequest("POST", "/api/admin/users/import");
+        request.setAsyncSupported(true);
+        request.setContent("[]".getBytes());
+    }
+
+    @Test
+    void busyImporterAnswers429() {
+        when(userImportService.tryStart()).thenReturn(Optional.empty());
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, controller.importUsers(request).getStatusCode());
+    }
+
+    @Test
+    void bodyReleasesTheLease() throws Exception {
+        when(userImportService.tryStart()).thenReturn(Optional.of(lease));
+
+        ResponseEntity<?> response = controller.importUsers(request);
+        ((StreamingResponseBody) response.getBody()).writeTo(new ByteArrayOutputStream());
+
+        verify(userImportService).importUsers(any(), any());
+        verify(lease).close();
+    }
+
+    @Test
+    void asyncCompletionReleasesTheLeaseWhenTheBodyNeverRuns() throws Exception {
+        when(userImportService.tryStart()).thenReturn(Optional.of(lease));
+
+        controller.importUsers(request);
+        // As StreamingResponseBodyReturnValueHandler does, with an executor that never gets to the body.
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+        asyncManager.setTaskExecutor(new DroppingExecutor());
+        asyncManager.startCallableProcessing(() -> null);
+        verify(lease, never()).close();
+
+        // What the container does on client abort or async timeout.
+        request.getAsyncContext().complete();
+
+        verify(userImportService, never()).importUsers(any(), any());
+        verify(lease).close();
+    }
+
+    private static final class DroppingExecutor implements AsyncTaskExecutor {
+        @Override
+        public void execute(Runnable task) {
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return new CompletableFuture<>();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.api.springsecurityauthcors.controller.auth;
+
+import com.api.springsecurityauthcors.EmbeddedPostgresTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Login answers asynchronously: a BadCredentialsException completes the future exceptionally and must still
+ * reach the security entry point as 401 after the async dispatch.
+ */
+@AutoConfigureMockMvc
+class AuthControllerLoginTest extends EmbeddedPostgresTest {
+    private static final String PASSWORD = "secret";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void wrongPasswordIsAnsweredWith401() throws Exception {
+        String email = "login-wrong-password@example.com";
+        register(email).andExpect(status().isOk());
+
+        login(email, "not-" + PASSWORD).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void unknownEmailIsAnsweredWith401() throws Exception {
+        login("login-unknown@example.com", PASSWORD).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void rightPasswordIssuesBothTokens() throws Exception {
+        String email = "login-ok@example.com";
+        register(email).andExpect(status().isOk());
+
+        login(email, PASSWORD)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").isNotEmpty())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty());
+    }
+
+    private ResultActions register(String email) throws Exception {
+        return dispatch("/api/auth/register", """
+                {"firstName": "First", "lastName": "Last", "email": "%s", "password": "%s"}
+                """.formatted(email, PASSWORD));
+    }
+
+    private ResultActions login(String email, String password) throws Exception {
+        return dispatch("/api/auth/login", """
+                {"email": "%s", "password": "%s"}
+                """.formatted(email, password));
+    }
+
+    private ResultActions dispatch(String path, String body) throws Exception {
+        MvcResult started = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult(5_000);
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
@@ -0,0 +1,116 @@
+package com.api.springsecurityauthcors.controller.auth;
+
+import com.api.springsecurityauthcors.audit.AuthAuditLog;
+import com.api.springsecurityauthcors.domain.DTO.auth.ChangePasswordRequest;
+import com.api.springsecurityauthcors.domain.DTO.auth.ChangePasswordResponse;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import com.api.springsecurityauthcors.repo.revoked.RevokedTokenRepo;
+import com.api.springsecurityauthcors.security.JwtKeyRing;
+import com.api.springsecurityauthcors.security.JwtService;
+import com.api.springsecurityauthcors.security.JwtSigningProperties;
+import com.api.springsecurityauthcors.security.LoginThrottle;
+import com.api.springsecurityauthcors.security.RevocationSet;
+import com.api.springsecurityauthcors.service.auth.AuthenticationService;
+import com.api.springsecurityauthcors.service.auth.PasswordHashingExecutor;
+import com.api.springsecurityauthcors.service.auth.RefreshTokenService;
+import com.api.springsecurityauthcors.service.auth.TokenRevocationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * /api/auth/** bypasses JWTAuthenticationFilter, so the controller itself must refuse revoked access tokens.
+ */
+class AuthControllerRevocationTest {
+    private final JwtService jwtService =
+            new JwtService(0, AuthMetrics.noop(), JwtKeyRing.from(new JwtSigningProperties()));
+    private final TokenRevocationService tokenRevocationService =
+            new TokenRevocationService(mock(RevokedTokenRepo.class), new RevocationSet(16));
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 4);
+    private AuthenticationService authenticationService;
+    private RefreshTokenService refreshTokenService;
+    private AuthController controller;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        authenticationService = mock(AuthenticationService.class);
+        refreshTokenService = mock(RefreshTokenService.class);
+        controller = new AuthController(
+                authenticationService,
+                refreshTokenService,
+                jwtService,
+                tokenRevocationService,
+                executor,
+                new SimpleAsyncTaskExecutor(),
+                mock(LoginThrottle.class),
+                AuthMetrics.noop(),
+                new AuthAuditLog(batch -> { }, false, 16, 1, Duration.ofMillis(10), "drop", Duration.ZERO));
+        token = jwtService.generateToken(UserEntity.builder()
+                .id(7L)
+                .email("user@example.com")
+                .role(Role.USER)
+                .build());
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void changePasswordAcceptsActiveToken() throws Exception {
+        when(authenticationService.encodePassword("new")).thenReturn("new-hash");
+        when(authenticationService.changePassword(any(), anyString(), anyString()))
+                .thenReturn(ChangePasswordResponse.builder().newPassword("new").build());
+
+        var response = controller.changePasswordById(passwordRequest(), bearer(token)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(authenticationService).changePassword(any(), anyString(), anyString());
+    }
+
+    @Test
+    void changePasswordRejectsRevokedToken() throws Exception {
+        tokenRevocationService.revoke(jwtService.extractAllClaims(token));
+
+        var response = controller.changePasswordById(passwordRequest(), bearer(token)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(authenticationService);
+    }
+
+    @Test
+    void logoutRejectsRevokedToken() {
+        assertEquals(HttpStatus.OK, controller.logout(bearer(token)).getStatusCode());
+        verify(refreshTokenService).revokeRefreshTokens(7L);
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.logout(bearer(token)).getStatusCode());
+    }
+
+    private static ChangePasswordRequest passwordRequest() {
+        return ChangePasswordRequest.builder().password("new").build();
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,157 @@
+package com.api.springsecurityauthcors.metrics;
+
+import com.api.springsecurityauthcors.audit.AuthAuditLog;
+import com.api.springsecurityauthcors.controller.auth.AuthController;
+import com.api.springsecurityauthcors.domain.DTO.auth.AuthenticationRequest;
+import com.api.springsecurityauthcors.repo.user.UserRepo;
+import com.api.springsecurityauthcors.security.BoundedUserCache;
+import com.api.springsecurityauthcors.security.JwtKeyRing;
+import com.api.springsecurityauthcors.security.JwtService;
+import com.api.springsecurityauthcors.security.JwtSigningProperties;
+import com.api.springsecurityauthcors.security.LoginThrottle;
+import com.api.springsecurityauthcors.service.auth.AuthenticationService;
+import com.api.springsecurityauthcors.service.auth.PasswordHashingExecutor;
+import com.api.springsecurityauthcors.service.auth.RefreshTokenService;
+import com.api.springsecurityauthcors.service.auth.TokenRevocationService;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthMetricsTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AuthMetrics authMetrics = new AuthMetrics(registry);
+    private final JwtKeyRing keyRing = JwtKeyRing.from(new JwtSigningProperties());
+    private final JwtService jwtService = new JwtService(16, authMetrics, keyRing);
+
+    @Test
+    void jwtParseIsTaggedExpired() {
+        String token = token(keyRing.getSigningKey(), System.currentTimeMillis() - 1_000);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.extractAllClaims(token));
+
+        assertEquals(1, stageCount(AuthMetrics.STAGE_JWT_PARSE, AuthMetrics.EXPIRED));
+    }
+
+    @Test
+    void jwtParseIsTaggedBadSignature() {
+        String token = token(Keys.secretKeyFor(SignatureAlgorithm.HS256), System.currentTimeMillis() + 60_000);
+
+        assertThrows(SignatureException.class, () -> jwtService.extractAllClaims(token));
+
+        assertEquals(1, stageCount(AuthMetrics.STAGE_JWT_PARSE, AuthMetrics.BAD_SIGNATURE));
+    }
+
+    @Test
+    void jwtParseOfAValidTokenIsTaggedOk() {
+        String token = token(keyRing.getSigningKey(), System.currentTimeMillis() + 60_000);
+
+        jwtService.extractAllClaims(token);
+
+        assertEquals(1, stageCount(AuthMetrics.STAGE_JWT_PARSE, AuthMetrics.OK));
+    }
+
+    @Test
+    void passwordMatchIsTaggedUserNotFound() {
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        when(authenticationManager.authenticate(any())).thenThrow(new UsernameNotFoundException("Пользователь не найден."));
+
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationService(authenticationManager).verifyCredentials(login(), "127.0.0.1"));
+
+        assertEquals(1, stageCount(AuthMetrics.STAGE_PASSWORD_MATCH, AuthMetrics.USER_NOT_FOUND));
+    }
+
+    @Test
+    void passwordMatchIsTaggedBadPassword() {
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Неверные учетные данные."));
+
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationService(authenticationManager).verifyCredentials(login(), "127.0.0.1"));
+
+        assertEquals(1, stageCount(AuthMetrics.STAGE_PASSWORD_MATCH, AuthMetrics.BAD_PASSWORD));
+    }
+
+    @Test
+    void throttledLoginIsTaggedOnTheEndpointTimer() throws Exception {
+        LoginThrottle loginThrottle = mock(LoginThrottle.class);
+        when(loginThrottle.tryAcquire(any(), any())).thenReturn(false);
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1);
+        try {
+            AuthController controller = new AuthController(
+                    mock(AuthenticationService.class),
+                    mock(RefreshTokenService.class),
+                    jwtService,
+                    mock(TokenRevocationService.class),
+                    executor,
+                    new SimpleAsyncTaskExecutor(),
+                    loginThrottle,
+                    authMetrics,
+                    auditLog());
+
+            var response = controller.authenticate(login(), new MockHttpServletRequest()).get(5, TimeUnit.SECONDS);
+
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+            assertEquals(1, registry.get("auth.endpoint.duration")
+                    .tag("endpoint", "login")
+                    .tag("outcome", AuthMetrics.THROTTLED)
+                    .timer().count());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private long stageCount(String stage, String outcome) {
+        return registry.get("auth.stage.duration").tag("stage", stage).tag("outcome", outcome).timer().count();
+    }
+
+    private AuthenticationService authenticationService(AuthenticationManager authenticationManager) {
+        return new AuthenticationService(
+                mock(UserRepo.class),
+                new BCryptPasswordEncoder(4),
+                jwtService,
+                authenticationManager,
+                new BoundedUserCache(10, Duration.ofMinutes(5)),
+                authMetrics,
+                auditLog());
+    }
+
+    private static AuthAuditLog auditLog() {
+        return new AuthAuditLog(batch -> { }, false, 16, 1, Duration.ofMillis(10), "drop", Duration.ZERO);
+    }
+
+    private static AuthenticationRequest login() {
+        return AuthenticationRequest.builder().email("user@example.com").password("secret").build();
+    }
+
+    private static String token(Key key, long expiresAt) {
+        return Jwts.builder()
+                .setSubject("user@example.com")
+                .setIssuedAt(new Date(expiresAt - 60_000))
+                .setExpiration(new Date(expiresAt))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,103 @@
+package com.api.springsecurityauthcors.security;
+
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BoundedUserCacheTest {
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @Test
+    void countsHitsAndMisses() {
+        BoundedUserCache cache = new BoundedUserCache(10, Duration.ofMinutes(5), now::get);
+        cache.putUserInCache(user("a@example.com"));
+
+        assertNotNull(cache.getUserFromCache("a@example.com"));
+        assertNull(cache.getUserFromCache("b@example.com"));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        BoundedUserCache cache = new BoundedUserCache(10, Duration.ofSeconds(30), now::get);
+        cache.putUserInCache(user("a@example.com"));
+
+        now.addAndGet(29_999);
+        assertNotNull(cache.getUserFromCache("a@example.com"));
+        now.addAndGet(1);
+        assertNull(cache.getUserFromCache("a@example.com"));
+
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void fullCachePrefersExpiredEntriesWhenMakingRoom() {
+        BoundedUserCache cache = new BoundedUserCache(2, Duration.ofSeconds(30), now::get);
+        cache.putUserInCache(user("old@example.com"));
+        now.addAndGet(20_000);
+        cache.putUserInCache(user("recent@example.com"));
+        now.addAndGet(15_000);
+
+        cache.putUserInCache(user("new@example.com"));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getUserFromCache("recent@example.com"));
+        assertNotNull(cache.getUserFromCache("new@example.com"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void fullCacheOfLiveEntriesStaysWithinBound() {
+        BoundedUserCache cache = new BoundedUserCache(2, Duration.ofMinutes(5), now::get);
+        cache.putUserInCache(user("a@example.com"));
+        cache.putUserInCache(user("b@example.com"));
+        cache.putUserInCache(user("c@example.com"));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getUserFromCache("c@example.com"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void explicitRemovalIsNotAnEviction() {
+        BoundedUserCache cache = new BoundedUserCache(10, Duration.ofMinutes(5), now::get);
+        cache.putUserInCache(user("a@example.com"));
+
+        cache.removeUserFromCache("a@example.com");
+
+        assertNull(cache.getUserFromCache("a@example.com"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void publishesCountersAsMeters() {
+        BoundedUserCache cache = new BoundedUserCache(10, Duration.ofMinutes(5), now::get);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.putUserInCache(user("a@example.com"));
+        cache.getUserFromCache("a@example.com");
+        cache.getUserFromCache("a@example.com");
+        cache.getUserFromCache("b@example.com");
+
+        assertEquals(2, registry.get("auth.user.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("auth.user.cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("auth.user.cache.size").gauge().value());
+    }
+
+    private static UserEntity user(String email) {
+        return UserEntity.builder().id(1L).email(email).password("hash").role(Role.USER).build();
+    }
+}
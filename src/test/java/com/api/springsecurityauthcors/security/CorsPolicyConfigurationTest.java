@@ -0,0 +1,87 @@
+package com.api.springsecurityauthcors.security;
+
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.CorsFilter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CorsPolicyConfigurationTest {
+    private static final String ORIGIN = "https://app.example.com";
+
+    private FilterRegistrationBean<CorsFilter> registration;
+    private Filter filter;
+
+    @BeforeEach
+    void setUp() {
+        CorsProperties properties = new CorsProperties();
+        properties.setAllowedOrigins(List.of(ORIGIN));
+        CorsPolicyConfiguration configuration = new CorsPolicyConfiguration();
+        registration = configuration.preflightCorsFilter(
+                configuration.corsConfigurationSource(configuration.corsPolicy(properties)));
+        filter = registration.getFilter();
+    }
+
+    @Test
+    void runsBeforeEveryOtherFilter() {
+        assertEquals(Ordered.HIGHEST_PRECEDENCE, registration.getOrder());
+    }
+
+    @Test
+    void answersPreflightWithoutCallingTheChain() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(preflight(ORIGIN), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(ORIGIN, response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+        assertEquals("true", response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS));
+        assertEquals("3600", response.getHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE));
+    }
+
+    @Test
+    void rejectsPreflightFromUnlistedOrigin() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(preflight("https://evil.example.org"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(403, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+    }
+
+    @Test
+    void passesActualRequestsOnWithCorsHeaders() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.addHeader(HttpHeaders.ORIGIN, ORIGIN);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(ORIGIN, response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+    }
+
+    private static MockHttpServletRequest preflight(String origin) {
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/api/users/1");
+        request.addHeader(HttpHeaders.ORIGIN, origin);
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET");
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "Authorization");
+        return request;
+    }
+}
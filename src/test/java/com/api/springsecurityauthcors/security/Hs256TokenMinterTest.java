@@ -0,0 +1,78 @@
+package com.api.springsecurityauthcors.security;
+
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Hs256TokenMinterTest {
+    private final JwtKeyRing keyRing = JwtKeyRing.from(new JwtSigningProperties());
+    private final Hs256TokenMinter minter = new Hs256TokenMinter(keyRing.getSigningKey());
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "user@example.com",
+            "\"quoted\"\\back@example.com",
+            "tab\tnew\nline\u0001\u001f@example.com",
+            "пользователь@пример.рф",
+            "日本語@example.com",
+            "emoji😀@example.com",
+            "lone\uD83D@example.com"
+    })
+    void producesTheSameBytesAsJjwt(String subject) {
+        UUID jti = UUID.randomUUID();
+        long issuedAt = 1_700_000_000L;
+        long expiration = issuedAt + 1200;
+
+        assertEquals(jjwt(42L, Role.ADMIN.name(), subject, jti, issuedAt, expiration),
+                minter.mint(42L, Role.ADMIN.name(), subject, jti, issuedAt, expiration));
+    }
+
+    @Test
+    void sizesClaimsForTheLongestValues() {
+        // Escapes only and the longest numbers: the claims just exceed the initial buffer.
+        String subject = "\u0001".repeat(24);
+        UUID jti = UUID.randomUUID();
+        long issuedAt = 9_000_000_000_000_000L;
+
+        Hs256TokenMinter fresh = new Hs256TokenMinter(keyRing.getSigningKey());
+        assertEquals(jjwt(Long.MIN_VALUE, Role.ADMIN.name(), subject, jti, issuedAt, issuedAt + 1),
+                fresh.mint(Long.MIN_VALUE, Role.ADMIN.name(), subject, jti, issuedAt, issuedAt + 1));
+    }
+
+    @Test
+    void mintedTokenIsAcceptedByJwtService() {
+        JwtService jwtService = new JwtService(0, AuthMetrics.noop(), keyRing);
+        UserEntity user = UserEntity.builder().id(7L).email("user@example.com").role(Role.USER).build();
+
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(user));
+
+        assertEquals(new JwtPrincipal(7L, "user@example.com", Role.USER), jwtService.extractPrincipal(claims));
+    }
+
+    private String jjwt(long userId, String role, String subject, UUID jti, long issuedAt, long expiration) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtService.ROLE_CLAIM, role);
+        claims.put(JwtService.USER_ID_CLAIM, userId);
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(subject)
+                .setId(jti.toString())
+                .setIssuedAt(new Date(issuedAt * 1000))
+                .setExpiration(new Date(expiration * 1000))
+                .signWith(keyRing.getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,83 @@
+package com.api.springsecurityauthcors.security;
+
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import io.jsonwebtoken.MalformedJwtException;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class JWTAuthenticationFilterTest {
+    private static final String STALE_TOKEN = "Bearer stale.token.value";
+
+    private JwtService jwtService;
+    private UserDetailsService userDetailsService;
+    private JWTAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(JwtService.class);
+        when(jwtService.extractAllClaims(anyString())).thenThrow(new MalformedJwtException("stale"));
+        userDetailsService = mock(UserDetailsService.class);
+        filter = new JWTAuthenticationFilter(
+                jwtService,
+                userDetailsService,
+                AuthMetrics.noop(),
+                new RevocationSet(16),
+                new PublicRoutes(new String[]{"/swagger-ui/**", "/v3/api-docs/**", "/api/auth/**",
+                        "/.well-known/jwks.json", "/actuator/health"})
+        );
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/auth/refreshtoken", "/api/auth/login", "/swagger-ui/index.html",
+            "/v3/api-docs", "/.well-known/jwks.json", "/actuator/health"})
+    void publicRoutesNeverReachJwtService(String path) throws Exception {
+        MockHttpServletRequest request = request(path);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(jwtService, userDetailsService);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/users/current", "/api/admin/users", "/actuator/metrics"})
+    void protectedRoutesParseTheToken(String path) {
+        MockHttpServletRequest request = request(path);
+        FilterChain chain = new MockFilterChain();
+
+        assertThrows(MalformedJwtException.class,
+                () -> filter.doFilter(request, new MockHttpServletResponse(), chain));
+        verify(jwtService).extractAllClaims("stale.token.value");
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.addHeader("Authorization", STALE_TOKEN);
+        return request;
+    }
+}
@@ -0,0 +1,170 @@
+package com.api.springsecurityauthcors.security;
+
+import com.api.springsecurityauthcors.controller.jwks.JwksController;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtKeyRingTest {
+    private static final String SECRET = new JwtSigningProperties().getSecret();
+
+    @TempDir
+    private Path dir;
+    private KeyPair retired;
+    private KeyPair active;
+
+    @BeforeEach
+    void setUp() {
+        retired = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        active = Keys.keyPairFor(SignatureAlgorithm.RS256);
+    }
+
+    @Test
+    void signsWithActiveKidAndVerifiesRetiredKeys() throws IOException {
+        JwtService jwtService = jwtService(JwtKeyRing.from(rsaProperties(false)));
+
+        String issued = jwtService.generateToken("user@example.com");
+        String signedByRetired = token("old", retired.getPrivate(), SignatureAlgorithm.RS256);
+
+        assertEquals("new", Jwts.parserBuilder().setSigningKey(active.getPublic()).build()
+                .parseClaimsJws(issued).getHeader().getKeyId());
+        assertEquals("user@example.com", jwtService.extractUserName(issued));
+        assertEquals("user@example.com", jwtService.extractUserName(signedByRetired));
+    }
+
+    @Test
+    void rejectsUnknownKidAndKeyMismatch() throws IOException {
+        JwtService jwtService = jwtService(JwtKeyRing.from(rsaProperties(false)));
+
+        String unknownKid = token("missing", active.getPrivate(), SignatureAlgorithm.RS256);
+        String wrongKey = token("new", retired.getPrivate(), SignatureAlgorithm.RS256);
+
+        assertThrows(SignatureException.class, () -> jwtService.extractAllClaims(unknownKid));
+        assertThrows(SignatureException.class, () -> jwtService.extractAllClaims(wrongKey));
+    }
+
+    @Test
+    void legacyHs256TokensOnlyVerifyWhenEnabled() throws IOException {
+        String legacy = jwtService(JwtKeyRing.hmac(SECRET)).generateToken("user@example.com");
+
+        JwtService strict = jwtService(JwtKeyRing.from(rsaProperties(false)));
+        JwtService migrating = jwtService(JwtKeyRing.from(rsaProperties(true)));
+
+        assertThrows(SignatureException.class, () -> strict.extractAllClaims(legacy));
+        assertEquals("user@example.com", migrating.extractUserName(legacy));
+    }
+
+    @Test
+    void publishesRsaKeysInJwks() throws IOException {
+        List<Map<String, Object>> jwks = JwtKeyRing.from(rsaProperties(false)).getJwks();
+
+        assertEquals(List.of("old", "new"), jwks.stream().map(jwk -> jwk.get("kid")).toList());
+        Map<String, Object> jwk = jwks.get(1);
+        RSAPublicKey publicKey = (RSAPublicKey) active.getPublic();
+        assertEquals("RSA", jwk.get("kty"));
+        assertEquals("sig", jwk.get("use"));
+        assertEquals("RS256", jwk.get("alg"));
+        assertEquals(publicKey.getModulus(), unsigned(jwk.get("n")));
+        assertEquals(publicKey.getPublicExponent(), unsigned(jwk.get("e")));
+    }
+
+    @Test
+    void publishesFixedLengthEcCoordinates() throws IOException {
+        KeyPair ec = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setAlgorithm(SignatureAlgorithm.ES256);
+        properties.setKeys(List.of(key("ec", ec, true)));
+
+        Map<String, Object> jwk = JwtKeyRing.from(properties).getJwks().get(0);
+
+        ECPublicKey publicKey = (ECPublicKey) ec.getPublic();
+        assertEquals("EC", jwk.get("kty"));
+        assertEquals("P-256", jwk.get("crv"));
+        assertEquals("ES256", jwk.get("alg"));
+        assertEquals(32, Base64.getUrlDecoder().decode((String) jwk.get("x")).length);
+        assertEquals(32, Base64.getUrlDecoder().decode((String) jwk.get("y")).length);
+        assertEquals(publicKey.getW().getAffineX(), unsigned(jwk.get("x")));
+        assertEquals(publicKey.getW().getAffineY(), unsigned(jwk.get("y")));
+    }
+
+    @Test
+    void jwksEndpointServesTheKeysWithCacheControl() throws IOException {
+        JwtSigningProperties properties = rsaProperties(false);
+        JwtKeyRing keyRing = JwtKeyRing.from(properties);
+
+        ResponseEntity<Map<String, List<Map<String, Object>>>> response = new JwksController(keyRing, properties).getJwks();
+
+        assertEquals("max-age=3600, public", response.getHeaders().getCacheControl());
+        assertEquals(keyRing.getJwks(), response.getBody().get("keys"));
+    }
+
+    @Test
+    void hmacRingPublishesNothing() {
+        assertEquals(List.of(), JwtKeyRing.hmac(SECRET).getJwks());
+    }
+
+    private JwtSigningProperties rsaProperties(boolean acceptLegacyHs256) throws IOException {
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setAlgorithm(SignatureAlgorithm.RS256);
+        properties.setAcceptLegacyHs256(acceptLegacyHs256);
+        properties.setKeys(List.of(key("old", retired, false), key("new", active, true)));
+        return properties;
+    }
+
+    private JwtSigningProperties.KeyDefinition key(String id, KeyPair keyPair, boolean withPrivateKey) throws IOException {
+        JwtSigningProperties.KeyDefinition definition = new JwtSigningProperties.KeyDefinition();
+        definition.setId(id);
+        definition.setPublicKey(pem(id + ".pub", "PUBLIC KEY", keyPair.getPublic()));
+        if (withPrivateKey) {
+            definition.setPrivateKey(pem(id + ".key", "PRIVATE KEY", keyPair.getPrivate()));
+        }
+        return definition;
+    }
+
+    private FileSystemResource pem(String name, String type, Key key) throws IOException {
+        Path file = dir.resolve(name);
+        Files.writeString(file, "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(key.getEncoded())
+                + "\n-----END " + type + "-----\n");
+        return new FileSystemResource(file);
+    }
+
+    private static String token(String kid, Key key, SignatureAlgorithm algorithm) {
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, kid)
+                .setSubject("user@example.com")
+                .signWith(key, algorithm)
+                .compact();
+    }
+
+    private static JwtService jwtService(JwtKeyRing keyRing) {
+        return new JwtService(16, AuthMetrics.noop(), keyRing);
+    }
+
+    private static BigInteger unsigned(Object base64Url) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode((String) base64Url));
+    }
+}
@@ -0,0 +1,31 @@
+package com.api.springsecurityauthcors.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtRuntimeHintsTest {
+
+    @Test
+    void registersImplementationsThatJjwtLoadsByName() {
+        RuntimeHints hints = new RuntimeHints();
+        new JwtRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(Jwts.builder().getClass())
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(Jwts.parserBuilder().getClass())
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.jackson.io.JacksonDeserializer"))
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer")
+                .test(hints));
+    }
+}
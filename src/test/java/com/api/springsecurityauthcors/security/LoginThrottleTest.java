@@ -0,0 +1,92 @@
+package com.api.springsecurityauthcors.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginThrottleTest {
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(6);
+
+    @Test
+    void admitsBurstThenRejects() {
+        LoginThrottle.KeyedRateLimiter limiter = new LoginThrottle.KeyedRateLimiter(100, 10, 5);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("user@example.com", start));
+        }
+        assertFalse(limiter.tryAcquire("user@example.com", start));
+        assertTrue(limiter.tryAcquire("other@example.com", start));
+    }
+
+    @Test
+    void refillsOneAttemptPerEmissionInterval() {
+        LoginThrottle.KeyedRateLimiter limiter = new LoginThrottle.KeyedRateLimiter(100, 10, 5);
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("user@example.com", start);
+        }
+
+        assertFalse(limiter.tryAcquire("user@example.com", start + INTERVAL - 1));
+        assertTrue(limiter.tryAcquire("user@example.com", start + INTERVAL));
+        assertFalse(limiter.tryAcquire("user@example.com", start + INTERVAL));
+    }
+
+    @Test
+    void fullTableSharesShardedOverflowBuckets() {
+        LoginThrottle.KeyedRateLimiter limiter = new LoginThrottle.KeyedRateLimiter(2, 10, 1);
+        long start = System.nanoTime();
+        assertTrue(limiter.tryAcquire("a", start));
+        assertTrue(limiter.tryAcquire("b", start));
+
+        String untracked = "c";
+        String otherShard = keyOutsideShardOf(untracked);
+        assertTrue(limiter.tryAcquire(untracked, start));
+        assertFalse(limiter.tryAcquire(untracked, start));
+        assertTrue(limiter.tryAcquire(otherShard, start));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void reclaimsExpiredBucketsWhenFull() {
+        LoginThrottle.KeyedRateLimiter limiter = new LoginThrottle.KeyedRateLimiter(2, 10, 1);
+        long start = System.nanoTime();
+        limiter.tryAcquire("a", start);
+        limiter.tryAcquire("b", start);
+
+        assertTrue(limiter.tryAcquire("c", start + INTERVAL));
+        assertEquals(1, limiter.size());
+        assertFalse(limiter.tryAcquire("c", start + INTERVAL));
+    }
+
+    @Test
+    void sweepsAtMostOncePerEmissionInterval() {
+        LoginThrottle.KeyedRateLimiter limiter = new LoginThrottle.KeyedRateLimiter(2, 10, 1);
+        long start = System.nanoTime();
+        limiter.tryAcquire("a", start);
+        limiter.tryAcquire("b", start);
+        limiter.tryAcquire("c", start + INTERVAL / 2);
+
+        // "a" and "b" have expired by now, but the sweep for "c" already used up this interval.
+        assertTrue(limiter.tryAcquire("d", start + INTERVAL + INTERVAL / 4));
+        assertEquals(2, limiter.size());
+        assertTrue(limiter.tryAcquire("e", start + INTERVAL + INTERVAL / 2));
+        assertEquals(1, limiter.size());
+    }
+
+    private static String keyOutsideShardOf(String key) {
+        for (int i = 0; ; i++) {
+            String candidate = "key-" + i;
+            if (LoginThrottle.KeyedRateLimiter.overflowShard(candidate)
+                    != LoginThrottle.KeyedRateLimiter.overflowShard(key)) {
+                assertNotEquals(key, candidate);
+                return candidate;
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.api.springsecurityauthcors.security;
+
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.api.springsecurityauthcors.repo.user.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PasswordEncodersTest {
+    private static final String PASSWORD = "correct horse battery staple";
+    private static final String LEGACY_HASH = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+    @Test
+    void calibrationPicksTheHighestCostWithinTheTarget() {
+        long target = Duration.ofMillis(250).toNanos();
+
+        assertEquals(12, PasswordEncoders.bcryptStrengthFor(10, target, strength -> Duration.ofMillis(60).toNanos()));
+        assertEquals(10, PasswordEncoders.bcryptStrengthFor(10, target, strength -> Duration.ofMillis(400).toNanos()));
+        assertEquals(12, PasswordEncoders.argon2IterationsFor(2, target, iterations -> Duration.ofMillis(40).toNanos()));
+        assertEquals(2, PasswordEncoders.argon2IterationsFor(2, target, iterations -> Duration.ofMillis(400).toNanos()));
+    }
+
+    @Test
+    void unprefixedAndWeakerHashesMatchAndAreFlaggedForUpgrade() {
+        PasswordEncoder encoder = PasswordEncoders.create(properties(PasswordHashingProperties.Algorithm.BCRYPT));
+
+        assertTrue(encoder.matches(PASSWORD, LEGACY_HASH));
+        assertTrue(encoder.upgradeEncoding(LEGACY_HASH));
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + LEGACY_HASH));
+
+        String hash = encoder.encode(PASSWORD);
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches(PASSWORD, hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void switchingToArgon2UpgradesBcryptHashes() {
+        PasswordEncoder bcrypt = PasswordEncoders.create(properties(PasswordHashingProperties.Algorithm.BCRYPT));
+        PasswordEncoder argon2 = PasswordEncoders.create(properties(PasswordHashingProperties.Algorithm.ARGON2));
+
+        String bcryptHash = bcrypt.encode(PASSWORD);
+        String argon2Hash = argon2.encode(PASSWORD);
+
+        assertTrue(argon2Hash.startsWith("{argon2}$argon2id$"));
+        assertTrue(argon2.matches(PASSWORD, argon2Hash));
+        assertTrue(bcrypt.matches(PASSWORD, argon2Hash));
+        assertTrue(argon2.matches(PASSWORD, bcryptHash));
+        assertTrue(argon2.upgradeEncoding(bcryptHash));
+        assertFalse(argon2.upgradeEncoding(argon2Hash));
+    }
+
+    @Test
+    void successfulLoginStoresTheUpgradedHashAndEvictsTheCachedUser() {
+        UserRepo userRepo = mock(UserRepo.class);
+        when(userRepo.findByEmail("user@example.com")).thenAnswer(invocation -> Optional.of(user(LEGACY_HASH)));
+        when(userRepo.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        BoundedUserCache userCache = new BoundedUserCache(10, Duration.ofMinutes(5));
+
+        provider(userRepo, userCache).authenticate(new UsernamePasswordAuthenticationToken("user@example.com", PASSWORD));
+
+        ArgumentCaptor<UserEntity> saved = ArgumentCaptor.forClass(UserEntity.class);
+        verify(userRepo).save(saved.capture());
+        assertTrue(saved.getValue().getPassword().startsWith("{bcrypt}$2a$05$"));
+        assertNull(userCache.getUserFromCache("user@example.com"));
+    }
+
+    @Test
+    void passwordChangedSinceTheLoginIsKept() {
+        UserRepo userRepo = mock(UserRepo.class);
+        when(userRepo.findByEmail("user@example.com"))
+                .thenReturn(Optional.of(user(LEGACY_HASH)))
+                .thenReturn(Optional.of(user("{bcrypt}changed-meanwhile")));
+
+        provider(userRepo, new BoundedUserCache(10, Duration.ofMinutes(5)))
+                .authenticate(new UsernamePasswordAuthenticationToken("user@example.com", PASSWORD));
+
+        verify(userRepo, never()).save(any());
+    }
+
+    private static DaoAuthenticationProvider provider(UserRepo userRepo, BoundedUserCache userCache) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(username -> userRepo.findByEmail(username).orElseThrow());
+        provider.setUserCache(userCache);
+        provider.setPasswordEncoder(PasswordEncoders.create(properties(PasswordHashingProperties.Algorithm.BCRYPT)));
+        provider.setUserDetailsPasswordService(new PasswordUpgradeService(userRepo, userCache));
+        return provider;
+    }
+
+    private static PasswordHashingProperties properties(PasswordHashingProperties.Algorithm algorithm) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setCalibrate(false);
+        properties.getBcrypt().setStrength(5);
+        properties.getArgon2().setMemory(DataSize.ofKilobytes(1024));
+        properties.getArgon2().setIterations(1);
+        return properties;
+    }
+
+    private static UserEntity user(String password) {
+        return UserEntity.builder().id(1L).email("user@example.com").password(password).role(Role.USER).build();
+    }
+}
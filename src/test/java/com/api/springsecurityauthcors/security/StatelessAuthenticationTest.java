@@ -0,0 +1,90 @@
+package com.api.springsecurityauthcors.security;
+
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class StatelessAuthenticationTest {
+    private final UserEntity user = UserEntity.builder()
+            .id(7L)
+            .email("admin@example.com")
+            .password("hash")
+            .role(Role.ADMIN)
+            .build();
+
+    private JwtService jwtService;
+    private UserDetailsService userDetailsService;
+    private RevocationSet revocationSet;
+    private JWTAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(0, AuthMetrics.noop(), JwtKeyRing.from(new JwtSigningProperties()));
+        userDetailsService = mock(UserDetailsService.class);
+        revocationSet = new RevocationSet(16);
+        filter = new JWTAuthenticationFilter(jwtService, userDetailsService, AuthMetrics.noop(), revocationSet,
+                new PublicRoutes(new String[]{"/api/auth/**"}));
+        ReflectionTestUtils.setField(filter, "stateless", true);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void principalComesFromTheClaimsWithoutLoadingTheUser() throws Exception {
+        filter.doFilter(request(jwtService.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(new JwtPrincipal(7L, "admin@example.com", Role.ADMIN), authentication.getPrincipal());
+        assertEquals(user.getAuthorities().toString(), authentication.getAuthorities().toString());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void tokensWithoutPrincipalClaimsFallBackToTheUserLookup() throws Exception {
+        when(userDetailsService.loadUserByUsername("admin@example.com")).thenReturn(user);
+
+        filter.doFilter(request(jwtService.generateToken("admin@example.com")), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertEquals(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(userDetailsService).loadUserByUsername("admin@example.com");
+    }
+
+    @Test
+    void revokedTokensAreNotAuthenticated() throws Exception {
+        String token = jwtService.generateToken(user);
+        revocationSet.add(jwtService.extractAllClaims(token).getId(), System.currentTimeMillis() + 600_000);
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/current");
+        request.setServletPath("/api/users/current");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,120 @@
+package com.api.springsecurityauthcors.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VerifiedClaimsCacheTest {
+    private static final long START = 1_700_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(START);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    void hitSkipsVerification() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10, now::get);
+        Function<String, Claims> verifier = verifier(START + 60_000);
+
+        Claims first = cache.getOrVerify("token", verifier);
+        Claims second = cache.getOrVerify("token", verifier);
+
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void entryIsDroppedWhenTheTokenExpires() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10, now::get);
+        Function<String, Claims> verifier = verifier(START + 1_000);
+        cache.getOrVerify("token", verifier);
+
+        now.set(START + 1_000);
+        // Verified again, so the verifier's rejection of the expired token is what the caller sees.
+        assertThrows(MalformedJwtException.class, () -> cache.getOrVerify("token", failing()));
+
+        assertEquals(0, cache.size());
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void expiredClaimsAreNeverCached() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10, now::get);
+
+        cache.getOrVerify("token", verifier(START));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void sizeIsBounded() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(2, now::get);
+        Function<String, Claims> verifier = verifier(START + 60_000);
+
+        cache.getOrVerify("a", verifier);
+        cache.getOrVerify("b", verifier);
+        cache.getOrVerify("c", verifier);
+        cache.getOrVerify("c", verifier);
+
+        assertEquals(2, cache.size());
+        assertEquals(4, verifications.get());
+    }
+
+    @Test
+    void fullCacheSweepsExpiredEntriesToMakeRoom() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(2, now::get);
+        cache.getOrVerify("a", verifier(START + 1_000));
+        cache.getOrVerify("b", verifier(START + 1_000));
+
+        now.set(START + 2_000);
+        cache.getOrVerify("c", verifier(START + 60_000));
+        cache.getOrVerify("c", failing());
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10, now::get);
+
+        assertThrows(MalformedJwtException.class, () -> cache.getOrVerify("token", failing()));
+        cache.getOrVerify("token", verifier(START + 60_000));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void zeroSizeDisablesCaching() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(0, now::get);
+        Function<String, Claims> verifier = verifier(START + 60_000);
+
+        cache.getOrVerify("token", verifier);
+        cache.getOrVerify("token", verifier);
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.size());
+    }
+
+    private Function<String, Claims> verifier(long expiresAt) {
+        return token -> {
+            verifications.incrementAndGet();
+            return Jwts.claims().setSubject(token).setExpiration(new Date(expiresAt));
+        };
+    }
+
+    private Function<String, Claims> failing() {
+        return token -> {
+            verifications.incrementAndGet();
+            throw new MalformedJwtException("bad");
+        };
+    }
+}
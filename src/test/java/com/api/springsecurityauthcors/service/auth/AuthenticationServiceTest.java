@@ -0,0 +1,120 @@
+package com.api.springsecurityauthcors.service.auth;
+
+import com.api.springsecurityauthcors.audit.AuthAuditEvent;
+import com.api.springsecurityauthcors.audit.AuthAuditLog;
+import com.api.springsecurityauthcors.domain.DTO.auth.AuthenticationRequest;
+import com.api.springsecurityauthcors.domain.DTO.auth.ChangePasswordRequest;
+import com.api.springsecurityauthcors.domain.DTO.auth.RegisterRequest;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import com.api.springsecurityauthcors.repo.user.UserRepo;
+import com.api.springsecurityauthcors.security.BoundedUserCache;
+import com.api.springsecurityauthcors.security.JwtKeyRing;
+import com.api.springsecurityauthcors.security.JwtService;
+import com.api.springsecurityauthcors.security.JwtSigningProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthenticationServiceTest {
+    private static final String EMAIL = "user@example.com";
+
+    private UserRepo userRepo;
+    private BoundedUserCache userCache;
+    private BCryptPasswordEncoder passwordEncoder;
+    private AuthenticationManager authenticationManager;
+    private AuthAuditLog auditLog;
+    private final List<AuthAuditEvent> audited = new CopyOnWriteArrayList<>();
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        userRepo = mock(UserRepo.class);
+        when(userRepo.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        userCache = new BoundedUserCache(10, Duration.ofMinutes(5));
+        passwordEncoder = new BCryptPasswordEncoder(4);
+        authenticationManager = mock(AuthenticationManager.class);
+        auditLog = new AuthAuditLog(audited::addAll, true, 16, 1, Duration.ofMillis(10), "drop", Duration.ZERO);
+        auditLog.start();
+        authenticationService = new AuthenticationService(
+                userRepo,
+                passwordEncoder,
+                new JwtService(0, AuthMetrics.noop(), JwtKeyRing.from(new JwtSigningProperties())),
+                authenticationManager,
+                userCache,
+                AuthMetrics.noop(),
+                auditLog);
+        userCache.putUserInCache(user("stale-hash"));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        auditLog.shutdown();
+    }
+
+    @Test
+    void registerEvictsTheCachedUser() {
+        RegisterRequest request = RegisterRequest.builder()
+                .firstName("First")
+                .lastName("Last")
+                .email(EMAIL)
+                .password("secret")
+                .build();
+
+        assertNotNull(authenticationService.register(request, authenticationService.encodePassword("secret")).getToken());
+
+        assertNull(userCache.getUserFromCache(EMAIL));
+    }
+
+    @Test
+    void changePasswordStoresTheNewHashAndEvictsTheCachedUser() throws Exception {
+        UserEntity user = user("stale-hash");
+        when(userRepo.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        ChangePasswordRequest request = ChangePasswordRequest.builder().password("new-secret").build();
+
+        authenticationService.changePassword(request, EMAIL, authenticationService.encodePassword("new-secret"));
+
+        assertTrue(passwordEncoder.matches("new-secret", user.getPassword()));
+        assertNull(userCache.getUserFromCache(EMAIL));
+    }
+
+    @Test
+    void badPasswordIsAuditedWithTheUserId() throws InterruptedException {
+        when(userRepo.findByEmail(EMAIL)).thenReturn(Optional.of(user("hash")));
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Неверные учетные данные."));
+        AuthenticationRequest request = AuthenticationRequest.builder().email(EMAIL).password("wrong").build();
+
+        assertThrows(BadCredentialsException.class, () -> authenticationService.verifyCredentials(request, "127.0.0.1"));
+        auditLog.shutdown();
+
+        AuthAuditEvent event = audited.get(0);
+        assertEquals(AuthMetrics.BAD_PASSWORD, event.outcome());
+        assertEquals(1L, event.userId());
+    }
+
+    private static UserEntity user(String password) {
+        return user(EMAIL, password);
+    }
+
+    private static UserEntity user(String email, String password) {
+        return UserEntity.builder().id(1L).email(email).password(password).role(Role.USER).build();
+    }
+}
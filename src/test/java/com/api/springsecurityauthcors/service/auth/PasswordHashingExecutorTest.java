@@ -0,0 +1,84 @@
+package com.api.springsecurityauthcors.service.auth;
+
+import com.api.springsecurityauthcors.audit.AuthAuditLog;
+import com.api.springsecurityauthcors.controller.auth.AuthController;
+import com.api.springsecurityauthcors.domain.DTO.auth.RegisterRequest;
+import com.api.springsecurityauthcors.metrics.AuthMetrics;
+import com.api.springsecurityauthcors.security.JwtService;
+import com.api.springsecurityauthcors.security.LoginThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class PasswordHashingExecutorTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void saturate() throws InterruptedException {
+        executor = new PasswordHashingExecutor(1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> true);
+    }
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void rejectsAndCountsWhenWorkersAndQueueAreFull() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.bindTo(registry);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> true));
+
+        assertEquals(1, registry.get("auth.password.executor.rejected").functionCounter().count());
+        assertEquals(1, registry.get("auth.password.executor.queued").gauge().value());
+    }
+
+    @Test
+    void rejectionIsAnsweredWith429() throws Exception {
+        AuthenticationService authenticationService = mock(AuthenticationService.class);
+        AuthController controller = new AuthController(
+                authenticationService,
+                mock(RefreshTokenService.class),
+                mock(JwtService.class),
+                mock(TokenRevocationService.class),
+                executor,
+                new SimpleAsyncTaskExecutor(),
+                mock(LoginThrottle.class),
+                AuthMetrics.noop(),
+                new AuthAuditLog(batch -> { }, false, 16, 1, Duration.ofMillis(10), "drop", Duration.ZERO));
+
+        CompletableFuture<ResponseEntity<?>> response = controller.register(RegisterRequest.builder()
+                .email("user@example.com")
+                .password("secret")
+                .build());
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.get(1, TimeUnit.SECONDS).getStatusCode());
+        verifyNoInteractions(authenticationService);
+    }
+}
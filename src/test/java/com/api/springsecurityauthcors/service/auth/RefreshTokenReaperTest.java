@@ -0,0 +1,98 @@
+package com.api.springsecurityauthcors.service.auth;
+
+import com.api.springsecurityauthcors.EmbeddedPostgresTest;
+import com.api.springsecurityauthcors.repo.refresh.RefreshTokenRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RefreshTokenReaperTest extends EmbeddedPostgresTest {
+    private static final int BATCH_SIZE = 3;
+    private static final int MAX_BATCHES_PER_RUN = 2;
+    private static final int EXPIRED = 8;
+    private static final int LIVE = 2;
+
+    @Autowired
+    private RefreshTokenRepo refreshTokenRepo;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RefreshTokenReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from refresh_token where expiration <= now()");
+        reaper = new RefreshTokenReaper(refreshTokenRepo, transactionManager, registry,
+                BATCH_SIZE, MAX_BATCHES_PER_RUN, Duration.ZERO);
+        Instant now = Instant.now();
+        for (int i = 0; i < EXPIRED; i++) {
+            seed(now.minus(Duration.ofMinutes(i + 1)));
+        }
+        for (int i = 0; i < LIVE; i++) {
+            seed(now.plus(Duration.ofDays(1)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from refresh_token where user_id in (select id from jwt_users where email like 'reaper-%')");
+        jdbcTemplate.update("delete from jwt_users where email like 'reaper-%'");
+    }
+
+    @Test
+    void runIsCappedAtMaxBatchesAndSparesLiveTokens() {
+        reaper.purgeExpired();
+
+        assertEquals(EXPIRED - BATCH_SIZE * MAX_BATCHES_PER_RUN, expiredRows());
+        assertEquals(LIVE, liveRows());
+        assertEquals(BATCH_SIZE * MAX_BATCHES_PER_RUN, purgedRows());
+        assertEquals(MAX_BATCHES_PER_RUN, registry.get("auth.refresh.purge.duration").timer().count());
+    }
+
+    @Test
+    void nextRunFinishesTheBacklogAndStopsOnAShortBatch() {
+        reaper.purgeExpired();
+        reaper.purgeExpired();
+
+        assertEquals(0, expiredRows());
+        assertEquals(LIVE, liveRows());
+        assertEquals(EXPIRED, purgedRows());
+        assertEquals(MAX_BATCHES_PER_RUN + 1, registry.get("auth.refresh.purge.duration").timer().count());
+    }
+
+    private void seed(Instant expiration) {
+        Long userId = jdbcTemplate.queryForObject(
+                "insert into jwt_users (email, password, role) values (?, 'password', 'USER') returning id",
+                Long.class, "reaper-" + UUID.randomUUID() + "@example.com");
+        jdbcTemplate.update("insert into refresh_token (token, expiration, user_id) values (?, ?, ?)",
+                UUID.randomUUID().toString(), Timestamp.from(expiration), userId);
+    }
+
+    private int expiredRows() {
+        return jdbcTemplate.queryForObject("select count(*) from refresh_token where expiration <= now()", Integer.class);
+    }
+
+    private int liveRows() {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from refresh_token r join jwt_users u on u.id = r.user_id"
+                        + " where r.expiration > now() and u.email like 'reaper-%'", Integer.class);
+    }
+
+    private double purgedRows() {
+        return registry.get("auth.refresh.purge.rows").counter().count();
+    }
+}
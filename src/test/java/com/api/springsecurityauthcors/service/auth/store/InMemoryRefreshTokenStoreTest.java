@@ -0,0 +1,72 @@
+package com.api.springsecurityauthcors.service.auth.store;
+
+import com.api.springsecurityauthcors.domain.entity.RefreshToken;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryRefreshTokenStoreTest {
+
+    @Test
+    void snapshotRoundTrip(@TempDir Path dir) {
+        String file = dir.resolve("refresh-tokens.bin").toString();
+        InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(Duration.ofDays(1), 4, 100, file);
+        RefreshToken first = store.findOrCreate(user(1L));
+        RefreshToken second = store.findOrCreate(user(2L));
+        store.snapshot();
+
+        InMemoryRefreshTokenStore restored = new InMemoryRefreshTokenStore(Duration.ofDays(1), 4, 100, file);
+        restored.restore();
+
+        RefreshToken found = restored.findByToken(first.getToken()).orElseThrow();
+        assertEquals(1L, found.getUser().getId());
+        assertEquals("user1@example.com", found.getUser().getEmail());
+        assertEquals(Role.USER, found.getUser().getRole());
+        assertEquals(first.getExpiration().toEpochMilli(), found.getExpiration().toEpochMilli());
+        assertEquals(second.getToken(), restored.findOrCreate(user(2L)).getToken());
+        assertEquals(2, restored.trackedUsers());
+    }
+
+    @Test
+    void expiredTokensArePrunedWithTheirUserIndex() throws InterruptedException {
+        InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(Duration.ofMillis(50), 1, 100, "");
+        RefreshToken expired = store.findOrCreate(user(1L));
+        Thread.sleep(100);
+
+        assertTrue(store.findByToken(expired.getToken()).isEmpty());
+        store.findOrCreate(user(2L));
+
+        assertEquals(1, store.trackedUsers());
+        assertFalse(store.rotate(expired.getToken()).isRotated());
+    }
+
+    @Test
+    void evictionWhenFullPrunesTheUserIndex() throws InterruptedException {
+        InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(Duration.ofDays(1), 1, 2, "");
+        RefreshToken oldest = store.findOrCreate(user(1L));
+        Thread.sleep(5);
+        store.findOrCreate(user(2L));
+        store.findOrCreate(user(3L));
+
+        assertEquals(2, store.trackedUsers());
+        assertFalse(store.findByToken(oldest.getToken()).isPresent());
+        assertNotEquals(oldest.getToken(), store.findOrCreate(user(1L)).getToken());
+    }
+
+    private static UserEntity user(long id) {
+        return UserEntity.builder()
+                .id(id)
+                .email("user" + id + "@example.com")
+                .role(Role.USER)
+                .build();
+    }
+}
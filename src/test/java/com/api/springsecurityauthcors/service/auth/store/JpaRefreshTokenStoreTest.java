@@ -0,0 +1,103 @@
+package com.api.springsecurityauthcors.service.auth.store;
+
+import com.api.springsecurityauthcors.EmbeddedPostgresTest;
+import com.api.springsecurityauthcors.domain.entity.RefreshToken;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.api.springsecurityauthcors.repo.refresh.RefreshTokenRepo;
+import com.api.springsecurityauthcors.repo.user.UserRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class JpaRefreshTokenStoreTest extends EmbeddedPostgresTest {
+    @Autowired
+    private JpaRefreshTokenStore store;
+    @Autowired
+    private RefreshTokenRepo refreshTokenRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepo.save(UserEntity.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        store.deleteByUserId(user.getId());
+    }
+
+    @RepeatedTest(5)
+    void concurrentFirstLoginsShareOneToken() throws Exception {
+        List<RefreshToken> tokens = race(() -> store.findOrCreate(user));
+
+        assertEquals(tokens.get(0).getToken(), tokens.get(1).getToken());
+        assertEquals(1, tokenRows());
+    }
+
+    @Test
+    void expiredTokenIsReplaced() {
+        refreshTokenRepo.save(RefreshToken.builder()
+                .token("expired-" + UUID.randomUUID())
+                .expiration(Instant.now().minusSeconds(1))
+                .user(user)
+                .build());
+
+        RefreshToken created = store.findOrCreate(user);
+
+        assertFalse(created.getToken().startsWith("expired-"));
+        assertEquals(created.getToken(), store.findOrCreate(user).getToken());
+        assertEquals(1, tokenRows());
+    }
+
+    @RepeatedTest(5)
+    void concurrentRotationsHaveOneWinner() throws Exception {
+        String token = store.findOrCreate(user).getToken();
+
+        List<RefreshTokenRotation> rotations = race(() -> store.rotate(token));
+
+        assertEquals(1, rotations.stream().filter(RefreshTokenRotation::isRotated).count());
+    }
+
+    private int tokenRows() {
+        return jdbcTemplate.queryForObject("select count(*) from refresh_token where user_id = ?", Integer.class, user.getId());
+    }
+
+    private <T> List<T> race(Callable<T> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<T> gated = () -> {
+            start.await();
+            return task.call();
+        };
+        Future<T> first = executor.submit(gated);
+        Future<T> second = executor.submit(gated);
+        start.countDown();
+        return List.of(first.get(), second.get());
+    }
+}
@@ -0,0 +1,217 @@
+package com.api.springsecurityauthcors.service.user;
+
+import com.api.springsecurityauthcors.EmbeddedPostgresTest;
+import com.api.springsecurityauthcors.domain.DTO.user.UserImportResultDTO;
+import com.api.springsecurityauthcors.domain.DTO.user.UserImportResultDTO.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class UserImportServiceTest extends EmbeddedPostgresTest {
+    private static final int BATCH_SIZE = 2;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+    private final UserCache userCache = mock(UserCache.class);
+    private UserImportService importService;
+    private String domain;
+
+    @BeforeEach
+    void setUp() {
+        importService = service(bcrypt);
+        domain = "@" + UUID.randomUUID().toString().substring(0, 8) + ".example.com";
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    void rejectsInvalidRowsAndImportsTheRest() throws IOException {
+        List<UserImportResultDTO> results = importUsers(importService,
+                user("ok"),
+                "{\"email\":\"not-an-email\",\"password\":\"secret\"}",
+                "{\"email\":\"blank" + domain + "\",\"password\":\" \"}");
+
+        assertEquals(List.of(Status.CREATED, Status.INVALID, Status.INVALID), statuses(results));
+        assertNotNull(results.get(0).getId());
+        assertNull(results.get(1).getId());
+        assertTrue(bcrypt.matches("secret", passwordOf("ok" + domain)));
+    }
+
+    @Test
+    void rejectsDuplicatesInTheImportAndInTheDatabase() throws IOException {
+        importUsers(importService, user("existing"));
+
+        List<UserImportResultDTO> results = importUsers(importService, user("existing"), user("new"), user("new"));
+
+        assertEquals(List.of(Status.DUPLICATE, Status.CREATED, Status.DUPLICATE), statuses(results));
+        assertEquals(1, count("new" + domain));
+    }
+
+    @Test
+    void commitsEachChunkOnItsOwn() throws IOException {
+        String tooLong = "x".repeat(300);
+        List<UserImportResultDTO> results = importUsers(importService,
+                user("a"), user("b"),
+                "{\"email\":\"c" + domain + "\",\"password\":\"secret\",\"firstName\":\"" + tooLong + "\"}", user("d"),
+                user("e"));
+
+        assertEquals(List.of(Status.CREATED, Status.CREATED, Status.FAILED, Status.FAILED, Status.CREATED),
+                statuses(results));
+        assertEquals(1, count("a" + domain));
+        assertEquals(0, count("d" + domain));
+        assertEquals(1, count("e" + domain));
+    }
+
+    @Test
+    void hashFailureOnlyFailsItsRow() throws IOException {
+        PasswordEncoder encoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("broken".contentEquals(rawPassword)) {
+                    throw new IllegalArgumentException("password too long");
+                }
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+        UserImportService service = service(encoder);
+        try {
+            List<UserImportResultDTO> results = importUsers(service,
+                    user("fine"), "{\"email\":\"broken" + domain + "\",\"password\":\"broken\"}");
+
+            assertEquals(List.of(Status.CREATED, Status.FAILED), statuses(results));
+            assertTrue(results.get(1).getMessage().contains("password too long"));
+            assertEquals(0, count("broken" + domain));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void registrationRacingTheImportOnlyDuplicatesItsRow() throws IOException {
+        String raced = "raced" + domain;
+        // Registers the email while the row is being hashed, after the existing-email check has passed.
+        PasswordEncoder encoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("raced".contentEquals(rawPassword)) {
+                    jdbcTemplate.update("insert into jwt_users (email, password, role) values (?, 'password', 'USER')",
+                            raced);
+                }
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+        UserImportService service = service(encoder);
+        try {
+            List<UserImportResultDTO> results = importUsers(service,
+                    user("winner"), "{\"email\":\"" + raced + "\",\"password\":\"raced\"}");
+
+            assertEquals(List.of(Status.CREATED, Status.DUPLICATE), statuses(results));
+            assertNull(results.get(1).getId());
+            assertEquals(1, count("winner" + domain));
+            assertEquals("password", passwordOf(raced));
+            verify(userCache, never()).removeUserFromCache(raced);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void evictsImportedUsersFromTheUserCache() throws IOException {
+        importUsers(importService, user("cached"), "{\"email\":\"bad\",\"password\":\"secret\"}");
+
+        verify(userCache).removeUserFromCache("cached" + domain);
+        verify(userCache, never()).removeUserFromCache("bad");
+    }
+
+    @Test
+    void onlyOneImportAtATime() {
+        UserImportService.Lease lease = importService.tryStart().orElseThrow();
+        assertFalse(importService.tryStart().isPresent());
+
+        lease.close();
+        lease.close();
+
+        UserImportService.Lease next = importService.tryStart().orElseThrow();
+        assertFalse(importService.tryStart().isPresent());
+        next.close();
+    }
+
+    private UserImportService service(PasswordEncoder encoder) {
+        return new UserImportService(jdbcTemplate, transactionManager, encoder, userCache, objectMapper,
+                new SimpleMeterRegistry(), BATCH_SIZE, 2);
+    }
+
+    private List<UserImportResultDTO> importUsers(UserImportService service, String... rows) throws IOException {
+        byte[] body = ("[" + String.join(",", rows) + "]").getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.importUsers(new ByteArrayInputStream(body), out);
+        List<UserImportResultDTO> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, UserImportResultDTO.class));
+        }
+        return results;
+    }
+
+    private String user(String name) {
+        return "{\"email\":\"" + name + domain + "\",\"password\":\"secret\",\"firstName\":\"" + name + "\"}";
+    }
+
+    private static List<Status> statuses(List<UserImportResultDTO> results) {
+        return results.stream().map(UserImportResultDTO::getStatus).collect(Collectors.toList());
+    }
+
+    private String passwordOf(String email) {
+        return jdbcTemplate.queryForObject("select password from jwt_users where email = ?", String.class, email);
+    }
+
+    private int count(String email) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("select count(*) as n from jwt_users where email = ?", email);
+        return ((Number) row.get("n")).intValue();
+    }
+}
@@ -0,0 +1,115 @@
+package com.api.springsecurityauthcors.service.user;
+
+import com.api.springsecurityauthcors.EmbeddedPostgresTest;
+import com.api.springsecurityauthcors.domain.DTO.user.UserPageResponseDTO;
+import com.api.springsecurityauthcors.domain.DTO.user.UserResponseDTO;
+import com.api.springsecurityauthcors.domain.DTO.user.UserSearchRequest;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.api.springsecurityauthcors.repo.user.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keyset pagination of the admin user list against PostgreSQL. Every test filters on a name prefix unique to
+ * the test, so users created by other tests sharing the database do not show up.
+ */
+class UserPageQueryTest extends EmbeddedPostgresTest {
+    private static final int USERS = 20;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String prefix;
+    private List<String> emails;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "Ks" + UUID.randomUUID().toString().substring(0, 8);
+        emails = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            // Half match on the last name, half on the first name.
+            UserEntity user = userRepo.save(UserEntity.builder()
+                    .firstName(i % 2 == 0 ? "First" + i : prefix + i)
+                    .lastName(i % 2 == 0 ? prefix + i : "Last" + i)
+                    .email(prefix + i + "@example.com")
+                    .password("password")
+                    .role(Role.USER)
+                    .build());
+            emails.add(user.getEmail());
+        }
+    }
+
+    @Test
+    void walksAllPagesWithTheAfterCursor() {
+        List<String> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        Long after = null;
+        do {
+            UserPageResponseDTO page = page(after, 7);
+            page.getUsers().stream().map(UserResponseDTO::getEmail).forEach(seen::add);
+            pageSizes.add(page.getUsers().size());
+            after = page.getNextCursor();
+        } while (after != null);
+
+        assertEquals(List.of(7, 7, 6), pageSizes);
+        assertEquals(emails, seen);
+    }
+
+    @Test
+    void lastFullPageHasNoCursor() {
+        UserPageResponseDTO first = page(null, USERS / 2);
+        UserPageResponseDTO second = page(first.getNextCursor(), USERS / 2);
+
+        assertEquals(USERS / 2, second.getUsers().size());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void cursorIsTheLastIdOfThePage() {
+        UserPageResponseDTO first = page(null, 5);
+        Long lastId = userRepo.findByEmail(emails.get(4)).orElseThrow().getId();
+
+        assertEquals(lastId, first.getNextCursor());
+        assertEquals(emails.get(5), page(lastId, 5).getUsers().get(0).getEmail());
+    }
+
+    @Test
+    void nameFilterUsesThePrefixIndexes() {
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            return jdbcTemplate.queryForList("explain select id from jwt_users " +
+                    "where last_name like ? escape '\\' or first_name like ? escape '\\'",
+                    String.class, prefix + "%", prefix + "%");
+        });
+
+        String text = String.join("\n", plan);
+        assertTrue(text.contains("idx_jwt_users_last_name_prefix"), text);
+        assertTrue(text.contains("idx_jwt_users_first_name_prefix"), text);
+    }
+
+    private UserPageResponseDTO page(Long after, int size) {
+        return userService.getUsers(UserSearchRequest.builder()
+                .name(prefix)
+                .after(after)
+                .size(size)
+                .build());
+    }
+}
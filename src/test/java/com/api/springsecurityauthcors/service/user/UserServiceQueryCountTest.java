@@ -0,0 +1,115 @@
+package com.api.springsecurityauthcors.service.user;
+
+import com.api.springsecurityauthcors.domain.DTO.user.UserSearchRequest;
+import com.api.springsecurityauthcors.domain.entity.RefreshToken;
+import com.api.springsecurityauthcors.domain.entity.UserEntity;
+import com.api.springsecurityauthcors.domain.enums.Role;
+import com.api.springsecurityauthcors.repo.refresh.RefreshTokenRepo;
+import com.api.springsecurityauthcors.repo.user.UserRepo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceQueryCountTest {
+    private static final int USERS = 30;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private RefreshTokenRepo refreshTokenRepo;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UserEntity firstUser;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepo.deleteAll();
+        userRepo.deleteAll();
+        for (int i = 0; i < USERS; i++) {
+            UserEntity user = userRepo.save(UserEntity.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .patronymic("Patronymic" + i)
+                    .email("user" + i + "@example.com")
+                    .password("password")
+                    .role(i % 2 == 0 ? Role.USER : Role.ADMIN)
+                    .build());
+            refreshTokenRepo.save(RefreshToken.builder()
+                    .token(UUID.randomUUID().toString())
+                    .expiration(Instant.now().plusSeconds(3600))
+                    .user(user)
+                    .build());
+            if (i == 0) {
+                firstUser = user;
+            }
+        }
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getUsersRunsSingleStatement() {
+        var page = userService.getUsers(UserSearchRequest.builder().size(USERS).build());
+
+        assertEquals(USERS, page.getUsers().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getUsersWithFiltersRunsSingleStatement() {
+        var page = userService.getUsers(UserSearchRequest.builder()
+                .role(Role.ADMIN)
+                .emailPrefix("user1")
+                .size(5)
+                .build());
+
+        assertEquals(5, page.getUsers().size());
+        assertNotNull(page.getNextCursor());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getUserByIdRunsSingleStatement() throws Exception {
+        var user = userService.getUserById(firstUser.getId());
+
+        assertEquals(firstUser.getEmail(), user.getEmail());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getCurrentUserRunsSingleStatement() {
+        var user = userService.getCurrentUser(firstUser.getEmail());
+
+        assertEquals(firstUser.getFirstName(), user.getFirstName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void repeatedGetCurrentUserIsServedFromSecondLevelCache() {
+        userService.getCurrentUser(firstUser.getEmail());
+        var user = userService.getCurrentUser(firstUser.getEmail());
+
+        assertEquals(firstUser.getFirstName(), user.getFirstName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+    }
+}